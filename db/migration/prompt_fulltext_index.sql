@@ -0,0 +1,12 @@
+-- 내 프롬프트 / 좋아요한 프롬프트 검색, 통합 검색 lexical 경로용 ngram FULLTEXT 인덱스
+-- 앱(PromptFullTextSearch)은 인덱스 존재 여부만 확인하고, 없으면 LIKE 검색을 유지한다.
+--
+-- 주의: prompt 테이블의 첫 FULLTEXT 인덱스는 FTS_DOC_ID 컬럼을 추가하며 테이블을 다시 만든다.
+--       그동안 쓰기가 막히므로 트래픽이 적은 점검 시간에 한 번만 실행한다.
+-- ngram_token_size는 서버 설정(기본 2)을 따른다. 바꿨다면 app.prompt.search.fulltext.ngram-size도 맞춘다.
+
+-- 기본 stopword("a", "i" 등)가 들어간 bigram은 색인에서 빠지므로 이 세션에서만 끈다
+SET SESSION innodb_ft_enable_stopword = OFF;
+
+ALTER TABLE prompt
+    ADD FULLTEXT INDEX ft_prompt_text (title, introduction, content) WITH PARSER ngram;
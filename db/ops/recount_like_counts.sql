@@ -0,0 +1,12 @@
+-- likes 테이블 기준으로 prompt.like_count 재계산
+-- 실행 시점: like_count 컬럼 추가 직후 1회, 또는 비정상 종료로 LikeCountBuffer 증감분이 유실됐을 때
+-- 주의: 실행 중인 인스턴스의 LikeCountBuffer에 아직 flush되지 않은 증감분이 있으면 이중 반영된다.
+--       모든 인스턴스를 내린 상태(또는 좋아요 트래픽이 없는 점검 시간)에서 한 번만 실행한다.
+UPDATE prompt p
+LEFT JOIN (
+    SELECT prompt_id, COUNT(*) AS cnt
+    FROM likes
+    GROUP BY prompt_id
+) l ON l.prompt_id = p.id
+SET p.like_count = COALESCE(l.cnt, 0)
+WHERE p.like_count <> COALESCE(l.cnt, 0);
@@ -8,6 +8,8 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import promptstudio.promptstudio.domain.chat.application.ChatService;
 import promptstudio.promptstudio.domain.chat.dto.*;
 
@@ -39,16 +41,40 @@ public class ChatController {
         return ResponseEntity.ok(response);
     }
 
-    @GetMapping("/image/download")
-    @Operation(summary = "이미지 다운로드", description = "채팅에서 생성된 이미지를 다운로드합니다.")
-    public ResponseEntity<byte[]> downloadImage(
-            @RequestParam String imageUrl) {
+    @PostMapping(
+            value = "/start/stream",
+            consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE
+    )
+    @Operation(summary = "채팅 시작 (스트리밍)", description = "새로운 채팅 세션을 시작하고 응답을 SSE(session/token/done/error)로 전송합니다.")
+    public SseEmitter startChatStream(
+            @AuthenticationPrincipal Long memberId,
+            @ModelAttribute ChatStartRequest request) {
 
-        ChatImageDownloadData data = chatService.downloadImage(imageUrl);
+        return chatService.startChatStream(memberId, request);
+    }
+
+    @PostMapping(
+            value = "/send/stream",
+            consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE
+    )
+    @Operation(summary = "메시지 전송 (스트리밍)", description = "채팅 메시지를 전송하고 응답을 SSE(session/token/done/error)로 전송합니다.")
+    public SseEmitter sendMessageStream(
+            @AuthenticationPrincipal Long memberId,
+            @ModelAttribute ChatSendRequest request) {
+
+        return chatService.sendMessageStream(memberId, request);
+    }
+
+    @GetMapping("/image/download")
+    @Operation(summary = "이미지 다운로드", description = "채팅에서 생성된 이미지를 스트리밍으로 다운로드합니다. (Range, If-None-Match 지원)")
+    public ResponseEntity<StreamingResponseBody> downloadImage(
+            @RequestParam String imageUrl,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + data.getFileName() + "\"")
-                .contentType(MediaType.IMAGE_PNG)
-                .body(data.getImageBytes());
+        ChatImageDownloadData data = chatService.downloadImage(imageUrl, range, ifNoneMatch);
+        return data.getDownload().toResponse(data.getFileName());
     }
 }
\ No newline at end of file
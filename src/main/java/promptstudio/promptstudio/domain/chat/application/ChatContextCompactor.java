@@ -0,0 +1,181 @@
+package promptstudio.promptstudio.domain.chat.application;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import promptstudio.promptstudio.domain.chat.domain.ChatMessage;
+import promptstudio.promptstudio.domain.chat.domain.ChatSession;
+
+import java.util.List;
+
+/**
+ * ChatSession 컨텍스트 컴팩션
+ * - 시스템 프롬프트와 최근 N턴은 그대로 유지
+ * - 그보다 오래됐거나 토큰 예산을 넘는 턴은 추출식 요약(ChatSession.summary)으로 이동
+ * - 최근 이미지 턴을 제외한 이미지 첨부는 제거
+ * 매 턴마다 넘친 만큼만 옮기므로 작업량은 유지 중인 메시지 수에 비례한다.
+ */
+@Slf4j
+@Component
+public class ChatContextCompactor {
+
+    private static final int IMAGE_TOKENS = 765;      // gpt-4o high detail 이미지 1장 대략치
+    private static final int LINE_MAX_CHARS = 200;
+
+    private final ObjectMapper objectMapper;
+    private final int tokenBudget;
+    private final int keepTurns;
+    private final int imageTurns;
+    private final int summaryMaxChars;
+
+    public ChatContextCompactor(
+            ObjectMapper objectMapper,
+            @Value("${app.chat.context.token-budget:12000}") int tokenBudget,
+            @Value("${app.chat.context.keep-turns:6}") int keepTurns,
+            @Value("${app.chat.context.image-turns:1}") int imageTurns,
+            @Value("${app.chat.context.summary-max-chars:2000}") int summaryMaxChars
+    ) {
+        this.objectMapper = objectMapper;
+        this.tokenBudget = tokenBudget;
+        this.keepTurns = keepTurns;
+        this.imageTurns = imageTurns;
+        this.summaryMaxChars = summaryMaxChars;
+    }
+
+    public void compact(ChatSession session) {
+        List<ChatMessage> messages = session.getMessages();
+        if (messages.size() <= 2) {
+            return;
+        }
+
+        dropStaleImages(messages);
+
+        StringBuilder folded = new StringBuilder();
+        int turns = countTurns(messages);
+        // 마지막 턴(현재 질문)은 항상 남긴다
+        while (turns > 1 && (turns > keepTurns || estimateTokens(session) > tokenBudget)) {
+            foldOldestTurn(messages, folded);
+            turns--;
+        }
+
+        if (!folded.isEmpty()) {
+            session.setSummary(appendSummary(session.getSummary(), folded.toString()));
+            log.debug("채팅 컨텍스트 컴팩션: sessionId={}, 남은 메시지={}", session.getSessionId(), messages.size());
+        }
+    }
+
+    // 최근 imageTurns개의 이미지 턴을 제외하고 이미지 첨부 제거
+    private void dropStaleImages(List<ChatMessage> messages) {
+        int imageTurnsSeen = 0;
+        for (int i = messages.size() - 1; i >= 1; i--) {
+            ChatMessage message = messages.get(i);
+            if (message.getImages() == null || message.getImages().isEmpty()) {
+                continue;
+            }
+            if (++imageTurnsSeen > imageTurns) {
+                messages.set(i, message.withoutImages());
+            }
+        }
+    }
+
+    // 시스템 프롬프트 뒤의 가장 오래된 턴(user + 이어지는 응답)을 요약으로 이동
+    private void foldOldestTurn(List<ChatMessage> messages, StringBuilder folded) {
+        int index = 1;
+        do {
+            ChatMessage message = messages.remove(index);
+            folded.append(toSummaryLine(message)).append('\n');
+        } while (index < messages.size() && !"user".equals(messages.get(index).getRole()));
+    }
+
+    private int countTurns(List<ChatMessage> messages) {
+        int turns = 0;
+        for (int i = 1; i < messages.size(); i++) {
+            if ("user".equals(messages.get(i).getRole())) {
+                turns++;
+            }
+        }
+        return turns;
+    }
+
+    private int estimateTokens(ChatSession session) {
+        int tokens = estimateTokens(session.getSummary());
+        for (ChatMessage message : session.getMessages()) {
+            tokens += estimateTokens(message.getContent());
+            if (message.getImages() != null) {
+                tokens += message.getImages().size() * IMAGE_TOKENS;
+            }
+        }
+        return tokens;
+    }
+
+    // 영문은 4글자당 1토큰, 한글 등 비ASCII는 글자당 1토큰으로 보수적으로 추정
+    private int estimateTokens(String text) {
+        if (text == null) {
+            return 0;
+        }
+        int ascii = 0;
+        int other = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) < 128) {
+                ascii++;
+            } else {
+                other++;
+            }
+        }
+        return ascii / 4 + other;
+    }
+
+    private String toSummaryLine(ChatMessage message) {
+        String speaker = "user".equals(message.getRole()) ? "사용자" : "어시스턴트";
+        String text = "assistant".equals(message.getRole())
+                ? extractAssistantText(message.getContent())
+                : message.getContent();
+
+        text = text == null ? "" : text.replaceAll("\\s+", " ").trim();
+        if (text.length() > LINE_MAX_CHARS) {
+            text = text.substring(0, LINE_MAX_CHARS) + "…";
+        }
+        if (message.getImages() != null && !message.getImages().isEmpty()) {
+            text += " (이미지 " + message.getImages().size() + "장)";
+        }
+        return "- " + speaker + ": " + text;
+    }
+
+    // RUN_SYSTEM 응답 JSON이면 content/prompt만 남긴다
+    private String extractAssistantText(String content) {
+        if (content == null) {
+            return null;
+        }
+        String cleaned = content.replaceAll("```json\\s*", "").replaceAll("```\\s*", "").trim();
+        if (!cleaned.startsWith("{")) {
+            return content;
+        }
+        try {
+            JsonNode node = objectMapper.readTree(cleaned);
+            if (node.hasNonNull("content")) {
+                return node.get("content").asText();
+            }
+            if (node.hasNonNull("prompt")) {
+                return "[이미지 생성] " + node.get("prompt").asText();
+            }
+        } catch (Exception ignored) {
+            // JSON이 아니면 원문 사용
+        }
+        return content;
+    }
+
+    // 요약이 상한을 넘으면 오래된 줄부터 버린다
+    private String appendSummary(String summary, String folded) {
+        String merged = summary == null || summary.isBlank() ? folded : summary + "\n" + folded;
+        merged = merged.strip();
+        if (merged.length() <= summaryMaxChars) {
+            return merged;
+        }
+
+        String tail = merged.substring(merged.length() - summaryMaxChars);
+        int lineStart = tail.indexOf('\n');
+        return lineStart >= 0 ? tail.substring(lineStart + 1) : tail;
+    }
+}
@@ -1,5 +1,6 @@
 package promptstudio.promptstudio.domain.chat.application;
 
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import promptstudio.promptstudio.domain.chat.dto.*;
 
 public interface ChatService {
@@ -8,5 +9,9 @@ public interface ChatService {
 
     ChatSendResponse sendMessage(Long memberId, ChatSendRequest request);
 
-    ChatImageDownloadData downloadImage(String imageUrl);
+    SseEmitter startChatStream(Long memberId, ChatStartRequest request);
+
+    SseEmitter sendMessageStream(Long memberId, ChatSendRequest request);
+
+    ChatImageDownloadData downloadImage(String imageUrl, String range, String ifNoneMatch);
 }
\ No newline at end of file
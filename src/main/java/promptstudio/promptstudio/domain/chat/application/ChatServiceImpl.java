@@ -4,29 +4,48 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.content.Media;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import promptstudio.promptstudio.domain.chat.domain.ChatMessage;
 import promptstudio.promptstudio.domain.chat.domain.ChatSession;
 import promptstudio.promptstudio.domain.chat.dto.*;
 import promptstudio.promptstudio.domain.history.domain.entity.ResultType;
 import promptstudio.promptstudio.domain.history.dto.GptRunResult;
+import promptstudio.promptstudio.global.config.ChatClientRegistry;
 import promptstudio.promptstudio.global.config.ChatSessionCache;
 import promptstudio.promptstudio.global.dall_e.application.ImageService;
 import promptstudio.promptstudio.global.exception.http.BadRequestException;
 import promptstudio.promptstudio.global.exception.http.NotFoundException;
 import promptstudio.promptstudio.global.gpt.application.GptService;
 import promptstudio.promptstudio.global.gpt.application.GptServiceImpl;
+import promptstudio.promptstudio.global.gpt.application.RunResponseStreamParser;
+import promptstudio.promptstudio.global.gpt.metrics.GptMetrics;
+import promptstudio.promptstudio.global.gpt.prompt.ChatProfile;
 import promptstudio.promptstudio.global.gpt.prompt.PromptRegistry;
 import promptstudio.promptstudio.global.gpt.prompt.PromptType;
+import promptstudio.promptstudio.global.s3.service.ContentAddressedStorage;
+import promptstudio.promptstudio.global.s3.service.ObjectDownload;
 import promptstudio.promptstudio.global.s3.service.S3StorageService;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.io.IOException;
+import java.net.URI;
 import java.util.*;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
@@ -38,16 +57,22 @@ public class ChatServiceImpl implements ChatService {
     private final PromptRegistry promptRegistry;
     private final ImageService imageService;
     private final ObjectMapper objectMapper;
-    private final RestTemplate restTemplate;
+    private final RestTemplate openAiRestTemplate;
     private final S3StorageService s3StorageService;
+    private final ContentAddressedStorage contentAddressedStorage;
     private final GptService gptService;
     private final GptServiceImpl gptServiceImpl;
+    private final ChatClientRegistry chatClientRegistry;
+    private final ChatContextCompactor chatContextCompactor;
+    private final GptMetrics gptMetrics;
 
     @Value("${spring.ai.openai.api-key}")
     private String apiKey;
 
     private static final String GPT_CHAT_URL = "https://api.openai.com/v1/chat/completions";
     private static final int MAX_IMAGES = 6;
+    private static final long STREAM_TIMEOUT_MS = 180_000L;
+    private static final String CHAT_METRIC_TYPE = "CHAT_" + PromptType.RUN_SYSTEM.name();
 
     @Override
     public ChatStartResponse startChat(Long memberId, ChatStartRequest request) {
@@ -77,7 +102,7 @@ public class ChatServiceImpl implements ChatService {
         if (!imageUrls.isEmpty() && isImageGenerationRequest(request.getMessage())) {
             result = handleImageWithVision(request.getMessage(), imageUrls, session);
         } else {
-            String gptResponse = callGptApi(session.getMessages());
+            String gptResponse = callGptApi(session.getContextMessages());
             result = parseGptResponse(gptResponse, session, imageUrls);
             session.addMessage(ChatMessage.assistant(gptResponse));
         }
@@ -94,7 +119,82 @@ public class ChatServiceImpl implements ChatService {
 
     @Override
     public ChatSendResponse sendMessage(Long memberId, ChatSendRequest request) {
-        ChatSession session = chatSessionCache.get(request.getSessionId());
+        ChatSession session = getOwnedSession(memberId, request.getSessionId());
+        List<String> imageUrls = prepareSendImages(session, request);
+
+        session.addMessage(ChatMessage.user(request.getMessage(), imageUrls));
+        chatContextCompactor.compact(session);
+
+        ChatGptResult result;
+
+        // ✅ 이미지가 있고 이미지 생성 요청이면 바로 Vision 파이프라인
+        if (!imageUrls.isEmpty() && isImageGenerationRequest(request.getMessage())) {
+            result = handleImageWithVision(request.getMessage(), imageUrls, session);
+        } else {
+            String gptResponse = callGptApi(session.getContextMessages());
+            result = parseGptResponse(gptResponse, session, imageUrls);
+            session.addMessage(ChatMessage.assistant(gptResponse));
+        }
+
+        return ChatSendResponse.builder()
+                .resultType(result.getResultType())
+                .content(result.getContent())
+                .imageUrl(result.getImageUrl())
+                .build();
+    }
+
+    @Override
+    public SseEmitter startChatStream(Long memberId, ChatStartRequest request) {
+        if (request.getMessage() == null || request.getMessage().isBlank()) {
+            throw new BadRequestException("메시지는 필수입니다.");
+        }
+
+        if (request.getImages() != null && request.getImages().size() > MAX_IMAGES) {
+            throw new BadRequestException("이미지는 최대 " + MAX_IMAGES + "개까지 첨부할 수 있습니다.");
+        }
+
+        List<String> imageUrls = uploadImages(request.getImages());
+
+        String sessionId = UUID.randomUUID().toString();
+        ChatSession session = ChatSession.builder()
+                .sessionId(sessionId)
+                .memberId(memberId)
+                .build();
+
+        String systemPrompt = promptRegistry.get(PromptType.RUN_SYSTEM);
+        session.addMessage(ChatMessage.system(systemPrompt));
+        session.addMessage(ChatMessage.user(request.getMessage(), imageUrls));
+
+        // 세션은 스트림이 끝나 assistant 메시지까지 확정된 뒤에 캐시에 등록
+        return streamReply(session, request.getMessage(), imageUrls, result -> {
+            chatSessionCache.put(sessionId, session);
+            return ChatStartResponse.builder()
+                    .sessionId(sessionId)
+                    .resultType(result.getResultType())
+                    .content(result.getContent())
+                    .imageUrl(result.getImageUrl())
+                    .build();
+        });
+    }
+
+    @Override
+    public SseEmitter sendMessageStream(Long memberId, ChatSendRequest request) {
+        ChatSession session = getOwnedSession(memberId, request.getSessionId());
+        List<String> imageUrls = prepareSendImages(session, request);
+
+        session.addMessage(ChatMessage.user(request.getMessage(), imageUrls));
+        chatContextCompactor.compact(session);
+
+        return streamReply(session, request.getMessage(), imageUrls, result ->
+                ChatSendResponse.builder()
+                        .resultType(result.getResultType())
+                        .content(result.getContent())
+                        .imageUrl(result.getImageUrl())
+                        .build());
+    }
+
+    private ChatSession getOwnedSession(Long memberId, String sessionId) {
+        ChatSession session = chatSessionCache.get(sessionId);
         if (session == null) {
             throw new NotFoundException("채팅 세션이 존재하지 않거나 만료되었습니다.");
         }
@@ -102,7 +202,10 @@ public class ChatServiceImpl implements ChatService {
         if (!session.getMemberId().equals(memberId)) {
             throw new BadRequestException("해당 세션에 접근 권한이 없습니다.");
         }
+        return session;
+    }
 
+    private List<String> prepareSendImages(ChatSession session, ChatSendRequest request) {
         if (request.getImages() != null && request.getImages().size() > MAX_IMAGES) {
             throw new BadRequestException("이미지는 최대 " + MAX_IMAGES + "개까지 첨부할 수 있습니다.");
         }
@@ -119,25 +222,94 @@ public class ChatServiceImpl implements ChatService {
             imageUrls.add(session.getLastGeneratedImageUrl());
             log.info("이전 이미지 자동 첨부: {}", session.getLastGeneratedImageUrl());
         }
+        return imageUrls;
+    }
 
-        session.addMessage(ChatMessage.user(request.getMessage(), imageUrls));
+    /**
+     * 응답을 SSE로 스트리밍
+     * - session: 시작 시 세션 ID
+     * - token: TEXT 응답의 content 조각
+     * - done: 최종 응답 (세션 메시지 확정 후)
+     * - error: 실패 메시지
+     */
+    private SseEmitter streamReply(ChatSession session, String message, List<String> imageUrls,
+                                   Function<ChatGptResult, Object> toResponse) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        sendEvent(emitter, "session", session.getSessionId());
 
-        ChatGptResult result;
+        Mono<ChatGptResult> reply;
 
-        // ✅ 이미지가 있고 이미지 생성 요청이면 바로 Vision 파이프라인
-        if (!imageUrls.isEmpty() && isImageGenerationRequest(request.getMessage())) {
-            result = handleImageWithVision(request.getMessage(), imageUrls, session);
+        if (!imageUrls.isEmpty() && isImageGenerationRequest(message)) {
+            // Vision 파이프라인은 토큰 스트림이 없으므로 완료 시 한 번에 전송
+            reply = Mono.fromCallable(() -> handleImageWithVision(message, imageUrls, session))
+                    .subscribeOn(Schedulers.boundedElastic());
         } else {
-            String gptResponse = callGptApi(session.getMessages());
-            result = parseGptResponse(gptResponse, session, imageUrls);
-            session.addMessage(ChatMessage.assistant(gptResponse));
+            RunResponseStreamParser parser = new RunResponseStreamParser();
+            ChatClient chatClient = chatClientRegistry.get(ChatProfile.CHAT);
+
+            reply = gptMetrics.stream(CHAT_METRIC_TYPE, chatClient.prompt()
+                            .messages(toPromptMessages(session.getContextMessages())))
+                    .doOnNext(delta -> sendEvent(emitter, "token", parser.append(delta)))
+                    // IMAGE 응답이면 DALL-E 호출이 이어지므로 blocking 가능한 스레드에서 마무리
+                    .then(Mono.fromCallable(() -> {
+                        String gptResponse = parser.getRaw();
+                        ChatGptResult result = parseGptResponse(gptResponse, session, imageUrls);
+                        session.addMessage(ChatMessage.assistant(gptResponse));
+                        return result;
+                    }).subscribeOn(Schedulers.boundedElastic()));
         }
 
-        return ChatSendResponse.builder()
-                .resultType(result.getResultType())
-                .content(result.getContent())
-                .imageUrl(result.getImageUrl())
-                .build();
+        reply.subscribe(
+                result -> {
+                    sendEvent(emitter, "done", toResponse.apply(result));
+                    emitter.complete();
+                },
+                error -> {
+                    log.error("GPT 스트리밍 실패: {}", error.getMessage());
+                    String reason = error instanceof ResponseStatusException rse ? rse.getReason() : error.getMessage();
+                    sendEvent(emitter, "error", "GPT API 호출 중 오류가 발생했습니다: " + reason);
+                    emitter.complete();
+                }
+        );
+
+        return emitter;
+    }
+
+    private void sendEvent(SseEmitter emitter, String name, Object data) {
+        if (data == null || (data instanceof String text && text.isEmpty())) {
+            return;
+        }
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트 연결 종료 - 세션 확정은 계속 진행
+            log.debug("SSE 전송 실패 ({}): {}", name, e.getMessage());
+        }
+    }
+
+    private List<Message> toPromptMessages(List<ChatMessage> messages) {
+        List<Message> promptMessages = new ArrayList<>();
+
+        for (ChatMessage msg : messages) {
+            switch (msg.getRole()) {
+                case "system" -> promptMessages.add(new SystemMessage(msg.getContent()));
+                case "assistant" -> promptMessages.add(new AssistantMessage(msg.getContent()));
+                default -> {
+                    if (msg.getImages() != null && !msg.getImages().isEmpty()) {
+                        List<Media> media = msg.getImages().stream()
+                                .map(url -> new Media(MimeTypeUtils.IMAGE_PNG, URI.create(url)))
+                                .toList();
+                        promptMessages.add(UserMessage.builder()
+                                .text(msg.getContent())
+                                .media(media)
+                                .build());
+                    } else {
+                        promptMessages.add(new UserMessage(msg.getContent()));
+                    }
+                }
+            }
+        }
+        return promptMessages;
     }
 
     /**
@@ -172,7 +344,7 @@ public class ChatServiceImpl implements ChatService {
             GptRunResult result = gptService.runPromptWithImages(message, imageUrls);
 
             if (result.getResultType() == ResultType.IMAGE) {
-                String s3ImageUrl = s3StorageService.copyImage(result.getResultImageUrl());
+                String s3ImageUrl = contentAddressedStorage.retain(result.getResultImageUrl());
                 session.setLastGeneratedImageUrl(s3ImageUrl);
 
                 return ChatGptResult.builder()
@@ -231,7 +403,7 @@ public class ChatServiceImpl implements ChatService {
                 log.info("Enhanced prompt: {}", enhancedPrompt);
 
                 String resultImageUrl = imageService.generateImageHD(enhancedPrompt);
-                resultImageUrl = s3StorageService.copyImage(resultImageUrl);
+                resultImageUrl = contentAddressedStorage.retain(resultImageUrl);
 
                 session.setLastGeneratedImageUrl(resultImageUrl);
 
@@ -250,6 +422,7 @@ public class ChatServiceImpl implements ChatService {
 
         } catch (Exception e) {
             log.error("GPT 응답 파싱 실패, 원본 텍스트 반환: {}", e.getMessage());
+            gptMetrics.recordOutcome(CHAT_METRIC_TYPE, "parse_fallback");
             return ChatGptResult.builder()
                     .resultType("TEXT")
                     .content(gptResponse)
@@ -316,14 +489,22 @@ public class ChatServiceImpl implements ChatService {
 
             HttpEntity<Map<String, Object>> httpRequest = new HttpEntity<>(requestBody, headers);
 
-            ResponseEntity<String> response = restTemplate.exchange(
-                    GPT_CHAT_URL,
-                    HttpMethod.POST,
-                    httpRequest,
-                    String.class
-            );
+            long start = System.nanoTime();
+            ResponseEntity<String> response;
+            try {
+                response = openAiRestTemplate.exchange(
+                        GPT_CHAT_URL,
+                        HttpMethod.POST,
+                        httpRequest,
+                        String.class
+                );
+            } catch (RuntimeException e) {
+                gptMetrics.recordFailure(CHAT_METRIC_TYPE, "gpt-4o", start);
+                throw e;
+            }
 
             JsonNode jsonNode = objectMapper.readTree(response.getBody());
+            gptMetrics.recordCompletion(CHAT_METRIC_TYPE, jsonNode, start);
             return jsonNode
                     .path("choices")
                     .get(0)
@@ -351,17 +532,20 @@ public class ChatServiceImpl implements ChatService {
     }
 
     @Override
-    public ChatImageDownloadData downloadImage(String imageUrl) {
+    public ChatImageDownloadData downloadImage(String imageUrl, String range, String ifNoneMatch) {
         if (imageUrl == null || imageUrl.isBlank()) {
             throw new BadRequestException("이미지 URL이 필요합니다.");
         }
 
-        byte[] imageBytes = s3StorageService.downloadImageFromUrl(imageUrl);
+        ObjectDownload download = s3StorageService.openDownload(imageUrl, range, ifNoneMatch);
+        if (download == null) {
+            download = ObjectDownload.ofBytes(s3StorageService.downloadImageFromUrl(imageUrl), "image/png");
+        }
         String fileName = "chat_image_" + System.currentTimeMillis() + ".png";
 
         return ChatImageDownloadData.builder()
                 .fileName(fileName)
-                .imageBytes(imageBytes)
+                .download(download)
                 .build();
     }
 }
\ No newline at end of file
@@ -27,6 +27,17 @@ public class ChatMessage {
                 .build();
     }
 
+    // 오래된 이미지 첨부는 텍스트 표시만 남기고 제거
+    public ChatMessage withoutImages() {
+        if (images == null || images.isEmpty()) {
+            return this;
+        }
+        return ChatMessage.builder()
+                .role(role)
+                .content(content + "\n(이미지 " + images.size() + "장 첨부됨)")
+                .build();
+    }
+
     public static ChatMessage assistant(String content) {
         return ChatMessage.builder()
                 .role("assistant")
@@ -16,10 +16,27 @@ public class ChatSession {
     @Setter
     private String lastGeneratedImageUrl;
 
+    // 컴팩션으로 messages에서 빠진 오래된 대화의 요약
+    @Setter
+    private String summary;
+
     @Builder.Default
     private final List<ChatMessage> messages = new ArrayList<>();
 
     public void addMessage(ChatMessage message) {
         messages.add(message);
     }
+
+    // GPT 요청용: 시스템 프롬프트 + 요약 + 최근 대화
+    public List<ChatMessage> getContextMessages() {
+        if (summary == null || summary.isBlank() || messages.isEmpty()) {
+            return messages;
+        }
+
+        List<ChatMessage> context = new ArrayList<>(messages.size() + 1);
+        context.add(messages.get(0));
+        context.add(ChatMessage.system("[이전 대화 요약]\n" + summary));
+        context.addAll(messages.subList(1, messages.size()));
+        return context;
+    }
 }
\ No newline at end of file
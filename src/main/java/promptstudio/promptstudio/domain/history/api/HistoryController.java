@@ -7,6 +7,9 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import promptstudio.promptstudio.domain.history.application.HistoryRunJobService;
 import promptstudio.promptstudio.domain.history.application.HistoryService;
 import promptstudio.promptstudio.domain.history.domain.repository.HistoryRepository;
 import promptstudio.promptstudio.domain.history.dto.*;
@@ -16,6 +19,7 @@ import promptstudio.promptstudio.domain.maker.domain.repository.MakerRepository;
 import promptstudio.promptstudio.global.exception.http.NotFoundException;
 import promptstudio.promptstudio.global.gpt.application.GptService;
 
+import java.net.URI;
 import java.util.Comparator;
 import java.util.List;
 
@@ -26,6 +30,7 @@ import java.util.List;
 public class HistoryController {
 
     private final HistoryService historyService;
+    private final HistoryRunJobService historyRunJobService;
     private final GptService gptService;
     private final MakerRepository makerRepository;
     private final HistoryRepository historyRepository;
@@ -50,7 +55,7 @@ public class HistoryController {
         // 3. 이미지 있으면 runPromptWithImages, 없으면 runPrompt 호출
         GptRunResult gptRunResult;
         if (imageUrls.isEmpty()) {
-            gptRunResult = gptService.runPrompt(prompt);
+            gptRunResult = gptService.runPrompt(prompt, maker.getMember().getId());
         } else {
             gptRunResult = gptService.runPromptWithImages(prompt, imageUrls);
         }
@@ -60,6 +65,45 @@ public class HistoryController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "GPT Run 스트리밍 실행", description = "프롬프트 실행 결과를 SSE(token/done/error)로 전송하고 완료 시 History 생성")
+    @PostMapping(value = "/run/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter runGptStream(
+            @PathVariable Long makerId,
+            @RequestBody HistoryRunRequest request
+    ) {
+        return historyService.runGptStream(makerId, request.getPrompt());
+    }
+
+    @Operation(summary = "GPT Run 비동기 실행", description = "실행 작업을 등록하고 작업 ID를 즉시 반환합니다. 결과는 작업 조회 또는 SSE로 확인")
+    @PostMapping("/run/jobs")
+    public ResponseEntity<HistoryRunJobResponse> submitRunJob(
+            @PathVariable Long makerId,
+            @RequestBody HistoryRunRequest request
+    ) {
+        HistoryRunJobResponse response = historyRunJobService.submit(makerId, request.getPrompt());
+        URI location = URI.create("/api/makers/" + makerId + "/histories/run/jobs/" + response.getJobId());
+        return ResponseEntity.accepted().location(location).body(response);
+    }
+
+    @Operation(summary = "GPT Run 작업 조회", description = "비동기 실행 작업의 상태와 결과를 조회합니다.")
+    @GetMapping("/run/jobs/{jobId}")
+    public ResponseEntity<HistoryRunJobResponse> getRunJob(
+            @PathVariable Long makerId,
+            @PathVariable Long jobId
+    ) {
+        HistoryRunJobResponse response = historyRunJobService.getJob(makerId, jobId);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "GPT Run 작업 완료 구독", description = "작업 완료 시 SSE(done/error)로 결과를 전송합니다.")
+    @GetMapping(value = "/run/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeRunJob(
+            @PathVariable Long makerId,
+            @PathVariable Long jobId
+    ) {
+        return historyRunJobService.subscribe(makerId, jobId);
+    }
+
     @Operation(summary = "History 목록 조회", description = "메이커의 히스토리 목록 조회 (최신순)")
     @GetMapping
     public ResponseEntity<List<HistoryResponse>> getHistoryList(
@@ -79,18 +123,16 @@ public class HistoryController {
         return ResponseEntity.ok(response);
     }
 
-    @Operation(summary = "결과 이미지 다운로드", description = "History 결과 이미지를 다운로드합니다.")
+    @Operation(summary = "결과 이미지 다운로드", description = "History 결과 이미지를 스트리밍으로 다운로드합니다. (Range, If-None-Match 지원)")
     @GetMapping("/{historyId}/image/download")
-    public ResponseEntity<byte[]> downloadImage(
+    public ResponseEntity<StreamingResponseBody> downloadImage(
             @PathVariable Long makerId,
-            @PathVariable Long historyId
+            @PathVariable Long historyId,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
-        ImageDownloadData data = historyService.downloadImage(makerId, historyId);
-
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + data.getFileName() + "\"")
-                .contentType(MediaType.IMAGE_PNG)
-                .body(data.getImageBytes());
+        ImageDownloadData data = historyService.downloadImage(makerId, historyId, range, ifNoneMatch);
+        return data.getDownload().toResponse(data.getFileName());
     }
 
 }
\ No newline at end of file
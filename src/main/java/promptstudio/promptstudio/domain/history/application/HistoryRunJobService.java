@@ -0,0 +1,13 @@
+package promptstudio.promptstudio.domain.history.application;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import promptstudio.promptstudio.domain.history.dto.HistoryRunJobResponse;
+
+public interface HistoryRunJobService {
+
+    HistoryRunJobResponse submit(Long makerId, String prompt);
+
+    HistoryRunJobResponse getJob(Long makerId, Long jobId);
+
+    SseEmitter subscribe(Long makerId, Long jobId);
+}
@@ -0,0 +1,320 @@
+package promptstudio.promptstudio.domain.history.application;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import promptstudio.promptstudio.domain.history.domain.entity.HistoryRunJob;
+import promptstudio.promptstudio.domain.history.domain.entity.HistoryRunJobStatus;
+import promptstudio.promptstudio.domain.history.domain.repository.HistoryRepository;
+import promptstudio.promptstudio.domain.history.domain.repository.HistoryRunJobRepository;
+import promptstudio.promptstudio.domain.history.dto.GptRunResult;
+import promptstudio.promptstudio.domain.history.dto.HistoryRunJobResponse;
+import promptstudio.promptstudio.domain.history.dto.HistoryRunResponse;
+import promptstudio.promptstudio.domain.maker.domain.entity.Maker;
+import promptstudio.promptstudio.domain.maker.domain.entity.MakerImage;
+import promptstudio.promptstudio.domain.maker.domain.repository.MakerRepository;
+import promptstudio.promptstudio.global.exception.http.NotFoundException;
+import promptstudio.promptstudio.global.gpt.application.GptService;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * GPT Run 비동기 작업
+ * - 상태는 DB(HistoryRunJob)에 저장되어 재배포 후에도 이어서 실행
+ * - RUNNING 작업은 실행 인스턴스(owner)가 임대(leaseUntil)를 heartbeat로 연장, 임대가 끊긴 작업만 다시 대기열로
+ *   (max-attempts번 선점되고도 끝나지 않은 작업은 FAILED)
+ * - 실행은 제한된 워커 풀(historyRunExecutor)에서 처리
+ * - 완료 알림은 SSE (같은 인스턴스의 구독자만, 그 외는 GET 폴링)
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Slf4j
+public class HistoryRunJobServiceImpl implements HistoryRunJobService {
+
+    private static final long SSE_TIMEOUT_MS = 300_000L;
+    private static final int DISPATCH_BATCH_SIZE = 50;
+    private static final long PENDING_GRACE_SECONDS = 30;
+
+    private final HistoryRunJobRepository historyRunJobRepository;
+    private final HistoryRepository historyRepository;
+    private final MakerRepository makerRepository;
+    private final HistoryService historyService;
+    private final GptService gptService;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor historyRunExecutor;
+
+    private final Map<Long, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    // 이 인스턴스의 historyRunExecutor에 들어가 있는 작업 (대기 + 실행)
+    private final Set<Long> dispatched = ConcurrentHashMap.newKeySet();
+    // 이 인스턴스가 선점해 실행 중인 작업 (heartbeat 대상)
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @Value("${app.history.run-job.lease-seconds:120}")
+    private long leaseSeconds;
+
+    @Value("${app.history.run-job.max-attempts:3}")
+    private int maxAttempts;
+
+    @Override
+    @Transactional
+    public HistoryRunJobResponse submit(Long makerId, String prompt) {
+        Maker maker = makerRepository.findById(makerId)
+                .orElseThrow(() -> new NotFoundException("메이커를 찾을 수 없습니다."));
+
+        HistoryRunJob job = historyRunJobRepository.save(HistoryRunJob.builder()
+                .maker(maker)
+                .prompt(prompt)
+                .build());
+
+        Long jobId = job.getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatch(jobId);
+            }
+        });
+
+        return HistoryRunJobResponse.of(job, null);
+    }
+
+    @Override
+    public HistoryRunJobResponse getJob(Long makerId, Long jobId) {
+        HistoryRunJob job = findJob(makerId, jobId);
+        return toResponse(job);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)  // 재확인 시 1차 캐시를 피하기 위해
+    public SseEmitter subscribe(Long makerId, Long jobId) {
+        HistoryRunJob job = findJob(makerId, jobId);
+
+        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MS);
+
+        if (job.getStatus().isTerminal()) {
+            sendResult(emitter, toResponse(job));
+            return emitter;
+        }
+
+        List<SseEmitter> emitters = subscribers.computeIfAbsent(jobId, id -> new CopyOnWriteArrayList<>());
+        emitters.add(emitter);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+
+        // 등록 직전에 끝났을 수 있으므로 한 번 더 확인
+        HistoryRunJob latest = historyRunJobRepository.findById(jobId).orElse(job);
+        if (latest.getStatus().isTerminal() && emitters.remove(emitter)) {
+            sendResult(emitter, toResponse(latest));
+        }
+
+        return emitter;
+    }
+
+    // 기동 시 임대가 만료된 RUNNING 작업을 되돌리고 대기 작업을 다시 디스패치
+    // (다른 인스턴스가 실행 중인 작업은 heartbeat로 임대가 유지되므로 건드리지 않음)
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void recover() {
+        requeueExpired();
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatchPending(LocalDateTime.now().plusSeconds(1));
+            }
+        });
+    }
+
+    // 풀 포화로 거절됐던 대기 작업 / 죽은 인스턴스가 남긴 작업 재디스패치 (이미 대기열에 있는 작업은 제외)
+    @Scheduled(fixedDelayString = "${app.history.run-job.sweep-interval-ms:30000}")
+    public void sweep() {
+        transactionTemplate.executeWithoutResult(tx -> requeueExpired());
+        dispatchPending(LocalDateTime.now().minusSeconds(PENDING_GRACE_SECONDS));
+    }
+
+    // 이 인스턴스에서 실행 중인 작업의 임대 연장
+    @Scheduled(fixedDelayString = "${app.history.run-job.heartbeat-interval-ms:30000}")
+    public void heartbeat() {
+        if (running.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(tx -> historyRunJobRepository.renewLease(
+                List.copyOf(running), HistoryRunJobStatus.RUNNING, instanceId, leaseUntil()));
+    }
+
+    private void requeueExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int exhausted = historyRunJobRepository.failExhausted(
+                HistoryRunJobStatus.RUNNING, HistoryRunJobStatus.FAILED, maxAttempts,
+                "작업이 " + maxAttempts + "회 실행되는 동안 완료되지 않아 중단했습니다.", now);
+        if (exhausted > 0) {
+            log.error("재시도 한도를 넘은 GPT Run 작업 {}건 실패 처리", exhausted);
+        }
+
+        int requeued = historyRunJobRepository.requeueExpired(
+                HistoryRunJobStatus.RUNNING, HistoryRunJobStatus.PENDING, now);
+        if (requeued > 0) {
+            log.info("임대가 만료된 GPT Run 작업 {}건 재등록", requeued);
+        }
+    }
+
+    private LocalDateTime leaseUntil() {
+        return LocalDateTime.now().plusSeconds(leaseSeconds);
+    }
+
+    private void dispatchPending(LocalDateTime before) {
+        List<Long> jobIds = historyRunJobRepository.findIdsByStatusUpdatedBefore(
+                HistoryRunJobStatus.PENDING, before, PageRequest.of(0, DISPATCH_BATCH_SIZE));
+
+        for (Long jobId : jobIds) {
+            if (!dispatch(jobId)) {
+                break;
+            }
+        }
+    }
+
+    private boolean dispatch(Long jobId) {
+        // 이미 이 인스턴스의 대기열에 들어가 있는 작업은 다시 넣지 않는다
+        if (!dispatched.add(jobId)) {
+            return true;
+        }
+        try {
+            historyRunExecutor.execute(() -> {
+                try {
+                    execute(jobId);
+                } finally {
+                    dispatched.remove(jobId);
+                }
+            });
+            return true;
+        } catch (TaskRejectedException e) {
+            // PENDING으로 남겨두면 sweep에서 다시 시도
+            dispatched.remove(jobId);
+            log.warn("GPT Run 작업 대기열 포화, 이후 재시도: jobId={}", jobId);
+            return false;
+        }
+    }
+
+    private void execute(Long jobId) {
+        Integer claimed = transactionTemplate.execute(status -> historyRunJobRepository.claim(
+                jobId, HistoryRunJobStatus.PENDING, HistoryRunJobStatus.RUNNING, instanceId, leaseUntil(),
+                LocalDateTime.now()));
+        if (claimed == null || claimed == 0) {
+            return;
+        }
+
+        running.add(jobId);
+        try {
+            HistoryRunJob job = historyRunJobRepository.findById(jobId)
+                    .orElseThrow(() -> new NotFoundException("작업을 찾을 수 없습니다."));
+            Long makerId = job.getMaker().getId();
+
+            Maker maker = makerRepository.findByIdWithImages(makerId)
+                    .orElseThrow(() -> new NotFoundException("메이커를 찾을 수 없습니다."));
+
+            List<String> imageUrls = maker.getImages().stream()
+                    .sorted(Comparator.comparing(MakerImage::getOrderIndex))
+                    .map(MakerImage::getImageUrl)
+                    .toList();
+
+            GptRunResult gptRunResult = imageUrls.isEmpty()
+                    ? gptService.runPrompt(job.getPrompt(), maker.getMember().getId())
+                    : gptService.runPromptWithImages(job.getPrompt(), imageUrls);
+
+            HistoryRunResponse response = historyService.createHistory(makerId, gptRunResult);
+
+            finish(jobId, HistoryRunJobStatus.COMPLETED, response.getHistoryId(), null);
+
+        } catch (Exception e) {
+            log.error("GPT Run 작업 실패: jobId={}, {}", jobId, e.getMessage());
+            String reason = e instanceof ResponseStatusException rse ? rse.getReason() : e.getMessage();
+            finish(jobId, HistoryRunJobStatus.FAILED, null, truncate(reason));
+        } finally {
+            running.remove(jobId);
+        }
+    }
+
+    private void finish(Long jobId, HistoryRunJobStatus status, Long historyId, String errorMessage) {
+        Integer finished = transactionTemplate.execute(tx ->
+                historyRunJobRepository.finish(jobId, instanceId, status, historyId, errorMessage, LocalDateTime.now()));
+        if (finished == null || finished == 0) {
+            // 임대가 만료돼 다른 인스턴스로 넘어간 작업
+            log.warn("GPT Run 작업 임대 만료로 결과 반영 생략: jobId={}", jobId);
+            return;
+        }
+
+        List<SseEmitter> emitters = subscribers.remove(jobId);
+        if (emitters == null || emitters.isEmpty()) {
+            return;
+        }
+
+        HistoryRunJobResponse response = transactionTemplate.execute(tx ->
+                historyRunJobRepository.findById(jobId).map(this::toResponse).orElse(null));
+        if (response == null) {
+            return;
+        }
+
+        for (SseEmitter emitter : emitters) {
+            sendResult(emitter, response);
+        }
+    }
+
+    private void sendResult(SseEmitter emitter, HistoryRunJobResponse response) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(response.getStatus() == HistoryRunJobStatus.COMPLETED ? "done" : "error")
+                    .data(response));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("SSE 전송 실패: jobId={}, {}", response.getJobId(), e.getMessage());
+        }
+        emitter.complete();
+    }
+
+    private HistoryRunJob findJob(Long makerId, Long jobId) {
+        HistoryRunJob job = historyRunJobRepository.findById(jobId)
+                .orElseThrow(() -> new NotFoundException("작업을 찾을 수 없습니다."));
+
+        if (!job.getMaker().getId().equals(makerId)) {
+            throw new NotFoundException("해당 메이커의 작업이 아닙니다.");
+        }
+        return job;
+    }
+
+    private HistoryRunJobResponse toResponse(HistoryRunJob job) {
+        HistoryRunResponse result = null;
+        if (job.getStatus() == HistoryRunJobStatus.COMPLETED && job.getHistoryId() != null) {
+            result = historyRepository.findById(job.getHistoryId())
+                    .map(HistoryRunResponse::from)
+                    .orElse(null);
+        }
+        return HistoryRunJobResponse.of(job, result);
+    }
+
+    private String truncate(String message) {
+        if (message == null) return null;
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
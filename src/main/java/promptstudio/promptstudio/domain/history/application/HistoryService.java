@@ -1,5 +1,6 @@
 package promptstudio.promptstudio.domain.history.application;
 
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import promptstudio.promptstudio.domain.history.dto.GptRunResult;
 import promptstudio.promptstudio.domain.history.dto.HistoryDetailResponse;
 import promptstudio.promptstudio.domain.history.dto.HistoryResponse;
@@ -12,9 +13,11 @@ public interface HistoryService {
 
     HistoryRunResponse createHistory(Long makerId, GptRunResult gptRunResult);
 
+    SseEmitter runGptStream(Long makerId, String prompt);
+
     List<HistoryResponse> getHistoryList(Long makerId);
 
     HistoryDetailResponse restoreHistory(Long makerId, Long historyId);
 
-    ImageDownloadData downloadImage(Long makerId, Long historyId);
+    ImageDownloadData downloadImage(Long makerId, Long historyId, String range, String ifNoneMatch);
 }
\ No newline at end of file
@@ -1,8 +1,12 @@
 package promptstudio.promptstudio.domain.history.application;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import promptstudio.promptstudio.domain.history.domain.entity.History;
 import promptstudio.promptstudio.domain.history.domain.entity.HistorySnapshotImage;
 import promptstudio.promptstudio.domain.history.domain.entity.ResultType;
@@ -13,9 +17,17 @@ import promptstudio.promptstudio.domain.maker.domain.entity.MakerImage;
 import promptstudio.promptstudio.domain.maker.domain.repository.MakerRepository;
 import promptstudio.promptstudio.global.exception.http.NotFoundException;
 import promptstudio.promptstudio.global.gpt.application.GptService;
+import promptstudio.promptstudio.global.gpt.application.RunResponseStreamParser;
+import promptstudio.promptstudio.global.s3.service.ContentAddressedStorage;
+import promptstudio.promptstudio.global.s3.service.ImageVariantService;
+import promptstudio.promptstudio.global.s3.service.ObjectDownload;
 import promptstudio.promptstudio.global.s3.service.S3StorageService;
 import promptstudio.promptstudio.domain.history.dto.ImageDownloadData;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.io.IOException;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -23,12 +35,18 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
+@Slf4j
 public class HistoryServiceImpl implements HistoryService {
 
     private final HistoryRepository historyRepository;
     private final MakerRepository makerRepository;
     private final S3StorageService s3StorageService;
+    private final ContentAddressedStorage contentAddressedStorage;
+    private final ImageVariantService imageVariantService;
     private final GptService gptService;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final long STREAM_TIMEOUT_MS = 180_000L;
 
     @Override
     @Transactional
@@ -38,7 +56,7 @@ public class HistoryServiceImpl implements HistoryService {
 
         String savedResultImageUrl = null;
         if (gptRunResult.getResultImageUrl() != null) {
-            savedResultImageUrl = s3StorageService.copyImage(gptRunResult.getResultImageUrl());
+            savedResultImageUrl = contentAddressedStorage.retain(gptRunResult.getResultImageUrl());
         }
 
 
@@ -54,10 +72,13 @@ public class HistoryServiceImpl implements HistoryService {
                 .resultImageUrl(savedResultImageUrl)
                 .build();
 
-        int orderIndex = 0;
-        for (MakerImage makerImage : maker.getImages()) {
-            String copiedUrl = s3StorageService.copyImage(makerImage.getImageUrl());
+        // 같은 객체에 참조만 추가 (이전 방식 URL은 물리 복사)
+        List<String> copiedUrls = contentAddressedStorage.retainAll(maker.getImages().stream()
+                .map(MakerImage::getImageUrl)
+                .toList());
 
+        int orderIndex = 0;
+        for (String copiedUrl : copiedUrls) {
             HistorySnapshotImage snapshotImage = HistorySnapshotImage.builder()
                     .imageUrl(copiedUrl)
                     .orderIndex(orderIndex++)
@@ -68,9 +89,76 @@ public class HistoryServiceImpl implements HistoryService {
 
         History savedHistory = historyRepository.save(history);
 
+        // 메이커 목록용 결과 이미지 썸네일
+        Long historyId = savedHistory.getId();
+        String resultImageUrl = savedHistory.getResultImageUrl();
+        imageVariantService.requestAfterCommit(resultImageUrl, variants ->
+                historyRepository.updateResultThumbnail(historyId, resultImageUrl, variants.thumbnailUrl()));
+
         return HistoryRunResponse.from(savedHistory);
     }
 
+    /**
+     * GPT Run을 SSE로 스트리밍
+     * - token: TEXT 응답의 content 조각
+     * - done: 스트림 종료 후 생성된 History
+     * - error: 실패 메시지
+     */
+    @Override
+    public SseEmitter runGptStream(Long makerId, String prompt) {
+        Maker maker = makerRepository.findByIdWithImages(makerId)
+                .orElseThrow(() -> new NotFoundException("메이커를 찾을 수 없습니다."));
+
+        List<String> imageUrls = maker.getImages().stream()
+                .sorted(Comparator.comparing(MakerImage::getOrderIndex))
+                .map(MakerImage::getImageUrl)
+                .toList();
+
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+
+        Mono<GptRunResult> run;
+        if (imageUrls.isEmpty()) {
+            RunResponseStreamParser parser = new RunResponseStreamParser();
+            run = gptService.streamPrompt(prompt)
+                    .doOnNext(delta -> sendEvent(emitter, "token", parser.append(delta)))
+                    .then(Mono.fromCallable(() -> gptService.parseRunResponse(parser.getRaw()))
+                            .subscribeOn(Schedulers.boundedElastic()));
+        } else {
+            // 이미지 파이프라인은 토큰 스트림이 없으므로 완료 시 한 번에 전송
+            run = Mono.fromCallable(() -> gptService.runPromptWithImages(prompt, imageUrls))
+                    .subscribeOn(Schedulers.boundedElastic());
+        }
+
+        // History는 스트림이 끝난 뒤 별도 트랜잭션에서 생성
+        run.map(result -> transactionTemplate.execute(status -> createHistory(makerId, result)))
+                .subscribe(
+                        response -> {
+                            sendEvent(emitter, "done", response);
+                            emitter.complete();
+                        },
+                        error -> {
+                            log.error("GPT Run 스트리밍 실패: {}", error.getMessage());
+                            String reason = error instanceof ResponseStatusException rse ? rse.getReason() : error.getMessage();
+                            sendEvent(emitter, "error", reason);
+                            emitter.complete();
+                        }
+                );
+
+        return emitter;
+    }
+
+    private void sendEvent(SseEmitter emitter, String name, Object data) {
+        if (data == null || (data instanceof String text && text.isEmpty())) {
+            return;
+        }
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트 연결 종료 - History 생성은 계속 진행
+            log.debug("SSE 전송 실패 ({}): {}", name, e.getMessage());
+        }
+    }
+
     private String generateTitle(Maker maker) {
         try {
             return gptService.generateHistoryTitle(
@@ -120,10 +208,11 @@ public class HistoryServiceImpl implements HistoryService {
                 .map(HistorySnapshotImage::getImageUrl)
                 .collect(Collectors.toSet());
 
-        // 2. 삭제할 이미지 URL (스냅샷 원본 제외)
-        List<String> urlsToDelete = maker.getImages().stream()
+        // 2. 참조 해제할 이미지 URL
+        // 내용 주소 객체는 MakerImage마다 참조를 하나씩 가지므로 모두 해제, 이전 방식 URL은 스냅샷 원본 제외
+        List<String> urlsToRelease = maker.getImages().stream()
                 .map(MakerImage::getImageUrl)
-                .filter(url -> !allSnapshotUrls.contains(url))
+                .filter(url -> contentAddressedStorage.isContentAddressed(url) || !allSnapshotUrls.contains(url))
                 .toList();
 
         // 3. DB에서 이미지 클리어
@@ -133,10 +222,12 @@ public class HistoryServiceImpl implements HistoryService {
         maker.updateTitle(history.getSnapshotTitle());
         maker.updateContent(history.getSnapshotContent());
 
-        int orderIndex = 0;
-        for (HistorySnapshotImage snapshotImage : history.getSnapshotImages()) {
-            String copiedUrl = s3StorageService.copyImage(snapshotImage.getImageUrl());
+        List<String> copiedUrls = contentAddressedStorage.retainAll(history.getSnapshotImages().stream()
+                .map(HistorySnapshotImage::getImageUrl)
+                .toList());
 
+        int orderIndex = 0;
+        for (String copiedUrl : copiedUrls) {
             MakerImage makerImage = MakerImage.builder()
                     .imageUrl(copiedUrl)
                     .orderIndex(orderIndex++)
@@ -144,16 +235,14 @@ public class HistoryServiceImpl implements HistoryService {
 
             maker.addImage(makerImage);
         }
-        // 5. 복사 완료 후 안전한 이미지만 삭제
-        for (String url : urlsToDelete) {
-            s3StorageService.deleteImage(url);
-        }
+        // 5. 복원 참조를 추가한 뒤 기존 이미지 참조 해제 (스냅샷과 공유 중이면 객체는 유지됨)
+        contentAddressedStorage.releaseAll(urlsToRelease);
         return HistoryDetailResponse.from(history);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public ImageDownloadData downloadImage(Long makerId, Long historyId) {
+    public ImageDownloadData downloadImage(Long makerId, Long historyId, String range, String ifNoneMatch) {
         History history = historyRepository.findById(historyId)
                 .orElseThrow(() -> new NotFoundException("히스토리를 찾을 수 없습니다."));
 
@@ -165,8 +254,11 @@ public class HistoryServiceImpl implements HistoryService {
             throw new NotFoundException("이미지 결과가 없는 히스토리입니다.");
         }
 
-        // S3에서 이미지 다운로드
-        byte[] imageBytes = s3StorageService.downloadImageFromUrl(history.getResultImageUrl());
+        // S3 객체 스트림 (응답 쓰는 시점에 전송), 외부 URL이면 기존처럼 받아서 전달
+        ObjectDownload download = s3StorageService.openDownload(history.getResultImageUrl(), range, ifNoneMatch);
+        if (download == null) {
+            download = ObjectDownload.ofBytes(s3StorageService.downloadImageFromUrl(history.getResultImageUrl()), "image/png");
+        }
 
         String fileName = "promptstudio_%d_%s.png".formatted(
                 historyId,
@@ -175,7 +267,7 @@ public class HistoryServiceImpl implements HistoryService {
 
         return ImageDownloadData.builder()
                 .fileName(fileName)
-                .imageBytes(imageBytes)
+                .download(download)
                 .build();
     }
 
@@ -49,6 +49,10 @@ public class History {
     @Column(length = 2048)
     private String resultImageUrl;
 
+    // 목록용 축소본 (ImageVariantService가 비동기로 채움)
+    @Column(length = 2048)
+    private String resultThumbnailUrl;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
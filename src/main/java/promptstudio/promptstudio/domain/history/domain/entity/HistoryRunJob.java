@@ -0,0 +1,58 @@
+package promptstudio.promptstudio.domain.history.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import promptstudio.promptstudio.domain.maker.domain.entity.Maker;
+import promptstudio.promptstudio.global.common.entity.BaseEntity;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = @Index(name = "idx_history_run_job_status", columnList = "status, updated_at"))
+public class HistoryRunJob extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "maker_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Maker maker;
+
+    @Column(columnDefinition = "TEXT")
+    private String prompt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private HistoryRunJobStatus status;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    private Long historyId;
+
+    // RUNNING 작업을 실행 중인 인스턴스와 임대 만료 시각 (실행 중에는 heartbeat로 연장)
+    @Column(length = 64)
+    private String owner;
+
+    private LocalDateTime leaseUntil;
+
+    @Column(length = 1000)
+    private String errorMessage;
+
+    @Builder
+    public HistoryRunJob(Maker maker, String prompt) {
+        this.maker = maker;
+        this.prompt = prompt;
+        this.status = HistoryRunJobStatus.PENDING;
+        this.attempts = 0;
+    }
+}
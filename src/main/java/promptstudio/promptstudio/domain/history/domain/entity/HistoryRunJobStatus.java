@@ -0,0 +1,12 @@
+package promptstudio.promptstudio.domain.history.domain.entity;
+
+public enum HistoryRunJobStatus {
+    PENDING,    // 대기 (워커 할당 전)
+    RUNNING,    // 실행 중
+    COMPLETED,  // History 생성 완료
+    FAILED;     // 실패
+
+    public boolean isTerminal() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
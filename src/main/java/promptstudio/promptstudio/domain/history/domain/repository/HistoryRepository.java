@@ -3,8 +3,10 @@ package promptstudio.promptstudio.domain.history.domain.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import promptstudio.promptstudio.domain.history.domain.entity.History;
 
 import java.util.List;
@@ -27,5 +29,13 @@ public interface HistoryRepository extends JpaRepository<History, Long> {
 
     Optional<History> findFirstByMakerIdOrderByIdDesc(Long makerId);
 
+    @Transactional
+    @Modifying
+    @Query("UPDATE History h SET h.resultThumbnailUrl = :thumbnailUrl " +
+            "WHERE h.id = :historyId AND h.resultImageUrl = :sourceUrl")
+    int updateResultThumbnail(@Param("historyId") Long historyId,
+                              @Param("sourceUrl") String sourceUrl,
+                              @Param("thumbnailUrl") String thumbnailUrl);
+
 
 }
\ No newline at end of file
@@ -0,0 +1,114 @@
+package promptstudio.promptstudio.domain.history.domain.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import promptstudio.promptstudio.domain.history.domain.entity.HistoryRunJob;
+import promptstudio.promptstudio.domain.history.domain.entity.HistoryRunJobStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+// updatedAt은 엔티티 auditing과 같은 JVM 시각(:now)으로 기록 (DB 세션 타임존과 무관하게 비교되도록)
+public interface HistoryRunJobRepository extends JpaRepository<HistoryRunJob, Long> {
+
+    // PENDING → RUNNING 선점 (중복 디스패치돼도 한 워커만 성공)
+    @Modifying
+    @Query("""
+        update HistoryRunJob j
+        set j.status = :running,
+            j.attempts = j.attempts + 1,
+            j.owner = :owner,
+            j.leaseUntil = :leaseUntil,
+            j.updatedAt = :now
+        where j.id = :jobId
+          and j.status = :pending
+    """)
+    int claim(@Param("jobId") Long jobId,
+              @Param("pending") HistoryRunJobStatus pending,
+              @Param("running") HistoryRunJobStatus running,
+              @Param("owner") String owner,
+              @Param("leaseUntil") LocalDateTime leaseUntil,
+              @Param("now") LocalDateTime now);
+
+    // 실행 중인 작업의 임대 연장 (heartbeat)
+    @Modifying
+    @Query("""
+        update HistoryRunJob j
+        set j.leaseUntil = :leaseUntil
+        where j.id in :jobIds
+          and j.status = :running
+          and j.owner = :owner
+    """)
+    int renewLease(@Param("jobIds") Collection<Long> jobIds,
+                   @Param("running") HistoryRunJobStatus running,
+                   @Param("owner") String owner,
+                   @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Query("""
+        update HistoryRunJob j
+        set j.status = :status,
+            j.historyId = :historyId,
+            j.errorMessage = :errorMessage,
+            j.leaseUntil = null,
+            j.updatedAt = :now
+        where j.id = :jobId
+          and j.owner = :owner
+    """)
+    int finish(@Param("jobId") Long jobId,
+               @Param("owner") String owner,
+               @Param("status") HistoryRunJobStatus status,
+               @Param("historyId") Long historyId,
+               @Param("errorMessage") String errorMessage,
+               @Param("now") LocalDateTime now);
+
+    // 임대가 만료됐는데 이미 maxAttempts번 선점된 작업은 다시 돌리지 않고 실패 처리
+    // (실행 중 인스턴스를 죽이는 작업이 무한히 재실행되며 GPT/DALL-E 비용을 쓰지 않도록)
+    @Modifying
+    @Query("""
+        update HistoryRunJob j
+        set j.status = :failed,
+            j.errorMessage = :errorMessage,
+            j.owner = null,
+            j.leaseUntil = null,
+            j.updatedAt = :now
+        where j.status = :running
+          and (j.leaseUntil is null or j.leaseUntil < :now)
+          and j.attempts >= :maxAttempts
+    """)
+    int failExhausted(@Param("running") HistoryRunJobStatus running,
+                      @Param("failed") HistoryRunJobStatus failed,
+                      @Param("maxAttempts") int maxAttempts,
+                      @Param("errorMessage") String errorMessage,
+                      @Param("now") LocalDateTime now);
+
+    // 임대가 만료된(실행하던 인스턴스가 죽은) RUNNING 작업을 대기 상태로 되돌림
+    @Modifying
+    @Query("""
+        update HistoryRunJob j
+        set j.status = :pending,
+            j.owner = null,
+            j.leaseUntil = null,
+            j.updatedAt = :now
+        where j.status = :running
+          and (j.leaseUntil is null or j.leaseUntil < :now)
+    """)
+    int requeueExpired(@Param("running") HistoryRunJobStatus running,
+                       @Param("pending") HistoryRunJobStatus pending,
+                       @Param("now") LocalDateTime now);
+
+    @Query("""
+        select j.id
+        from HistoryRunJob j
+        where j.status = :status
+          and j.updatedAt < :before
+        order by j.id
+    """)
+    List<Long> findIdsByStatusUpdatedBefore(@Param("status") HistoryRunJobStatus status,
+                                            @Param("before") LocalDateTime before,
+                                            Pageable pageable);
+}
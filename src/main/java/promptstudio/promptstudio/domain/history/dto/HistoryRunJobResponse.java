@@ -0,0 +1,30 @@
+package promptstudio.promptstudio.domain.history.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import promptstudio.promptstudio.domain.history.domain.entity.HistoryRunJob;
+import promptstudio.promptstudio.domain.history.domain.entity.HistoryRunJobStatus;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+public class HistoryRunJobResponse {
+    private Long jobId;
+    private HistoryRunJobStatus status;
+    private HistoryRunResponse result;   // COMPLETED일 때만
+    private String errorMessage;         // FAILED일 때만
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public static HistoryRunJobResponse of(HistoryRunJob job, HistoryRunResponse result) {
+        return HistoryRunJobResponse.builder()
+                .jobId(job.getId())
+                .status(job.getStatus())
+                .result(result)
+                .errorMessage(job.getErrorMessage())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .build();
+    }
+}
@@ -2,10 +2,11 @@ package promptstudio.promptstudio.domain.history.dto;
 
 import lombok.Builder;
 import lombok.Getter;
+import promptstudio.promptstudio.global.s3.service.ObjectDownload;
 
 @Getter
 @Builder
 public class ImageDownloadData {
     private String fileName;
-    private byte[] imageBytes;
+    private ObjectDownload download;
 }
\ No newline at end of file
@@ -0,0 +1,117 @@
+package promptstudio.promptstudio.domain.likes.application;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import promptstudio.promptstudio.domain.prompt.domain.repository.PromptRepository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Prompt.likeCount 쓰기 버퍼
+ * - 평소에는 토글마다 UPDATE like_count = like_count ± 1 (호출 측 트랜잭션)
+ * - flush 주기 동안 토글이 hot-threshold 이상 몰린 프롬프트는 LongAdder에 모아 두었다가
+ *   주기마다 한 번의 UPDATE로 반영 → 같은 row 락 경합 제거
+ * 종료 시 flush하지만 비정상 종료 시에는 버퍼 내용이 유실될 수 있다.
+ * 보정은 기동 시 자동으로 하지 않고 db/ops/recount_like_counts.sql로 한 번 실행한다.
+ * (다른 인스턴스 버퍼에 남은 증감분까지 likes 기준으로 세어 버리면 flush 때 이중 반영되므로)
+ */
+@Slf4j
+@Component
+public class LikeCountBuffer {
+
+    private final PromptRepository promptRepository;
+    private final int hotThreshold;
+    private final Map<Long, Stripe> stripes = new ConcurrentHashMap<>();
+
+    public LikeCountBuffer(
+            PromptRepository promptRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.likes.buffer.hot-threshold:20}") int hotThreshold
+    ) {
+        this.promptRepository = promptRepository;
+        this.hotThreshold = Math.max(2, hotThreshold);
+        meterRegistry.gauge("likes.buffer.pending", stripes, this::pendingTotal);
+    }
+
+    /**
+     * 인기 프롬프트면 커밋 후 버퍼에 적재하고 true, 아니면 false (호출 측이 바로 UPDATE)
+     */
+    public boolean offer(Long promptId, long delta) {
+        Stripe stripe = stripes.computeIfAbsent(promptId, id -> new Stripe());
+        stripe.hits.increment();
+        if (stripe.hits.sum() < hotThreshold) {
+            return false;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(promptId, delta);
+                }
+            });
+        } else {
+            add(promptId, delta);
+        }
+        return true;
+    }
+
+    private void add(Long promptId, long delta) {
+        stripes.computeIfAbsent(promptId, id -> new Stripe()).pending.add(delta);
+    }
+
+    // 아직 DB에 반영되지 않은 증감분
+    public long pending(Long promptId) {
+        Stripe stripe = stripes.get(promptId);
+        return stripe == null ? 0 : stripe.pending.sum();
+    }
+
+    @Scheduled(fixedDelayString = "${app.likes.buffer.flush-interval-ms:1000}")
+    public void flush() {
+        for (Map.Entry<Long, Stripe> entry : stripes.entrySet()) {
+            Stripe stripe = entry.getValue();
+            long delta = stripe.pending.sumThenReset();
+            if (delta != 0) {
+                try {
+                    promptRepository.addLikeCount(entry.getKey(), delta);
+                } catch (RuntimeException e) {
+                    stripe.pending.add(delta);
+                    log.warn("like_count flush 실패, 다음 주기에 재시도: promptId={}", entry.getKey(), e);
+                    continue;
+                }
+            }
+
+            // 지난 주기 동안 토글이 없던 항목만 제거
+            // (제거 직후 들어온 토글은 hits가 threshold 미만이라 바로 UPDATE 경로로 간다)
+            if (stripe.hits.sumThenReset() == 0 && stripe.pending.sum() == 0) {
+                stripes.remove(entry.getKey(), stripe);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private double pendingTotal(Map<Long, Stripe> stripes) {
+        long total = 0;
+        for (Stripe stripe : stripes.values()) {
+            total += Math.abs(stripe.pending.sum());
+        }
+        return total;
+    }
+
+    private static final class Stripe {
+        private final LongAdder pending = new LongAdder();
+        private final LongAdder hits = new LongAdder();
+    }
+}
@@ -10,10 +10,14 @@ import promptstudio.promptstudio.domain.likes.domain.repository.LikesRepository;
 import promptstudio.promptstudio.domain.likes.dto.LikesToggleResponse;
 import promptstudio.promptstudio.domain.member.domain.entity.Member;
 import promptstudio.promptstudio.domain.member.domain.repository.MemberRepository;
+import promptstudio.promptstudio.domain.prompt.application.HotPromptRanking;
+import promptstudio.promptstudio.domain.prompt.application.PromptFeedCache;
 import promptstudio.promptstudio.domain.prompt.domain.entity.Prompt;
 import promptstudio.promptstudio.domain.prompt.domain.repository.PromptRepository;
 import promptstudio.promptstudio.global.exception.http.NotFoundException;
 
+import java.time.LocalDateTime;
+
 @Service
 @RequiredArgsConstructor
 @Transactional
@@ -23,6 +27,9 @@ public class LikesServiceImpl implements LikesService {
     private final MemberRepository memberRepository;
     private final PromptRepository promptRepository;
     private final LikesRepository likesRepository;
+    private final LikeCountBuffer likeCountBuffer;
+    private final PromptFeedCache promptFeedCache;
+    private final HotPromptRanking hotPromptRanking;
 
     @Override
     public LikesToggleResponse toggleLikes(Long memberId, Long promptId) {
@@ -33,22 +40,44 @@ public class LikesServiceImpl implements LikesService {
         Prompt prompt = promptRepository.findById(promptId).orElseThrow(
                 () -> new NotFoundException("프롬프트가 존재하지 않습니다."));
 
-        if (likesRepository.existsByMemberIdAndPromptId(memberId, promptId)) {
-            likesRepository.deleteByMemberIdAndPromptId(memberId, promptId);
+        boolean liked;
+        long delta = 0;
+        // 주간 랭킹은 좋아요가 눌린 시각의 버킷을 증감
+        LocalDateTime likedAt = likesRepository.findCreatedAt(memberId, promptId).orElse(null);
+        if (likedAt != null) {
+            liked = false;
+            if (likesRepository.deleteByMemberIdAndPromptId(memberId, promptId) > 0) {
+                delta = -1;
+            }
         } else {
+            liked = true;
             try {
-                likesRepository.save(Likes.builder()
+                likedAt = likesRepository.save(Likes.builder()
                         .member(member)
                         .prompt(prompt)
-                        .build());
+                        .build()).getCreatedAt();
+                delta = 1;
             } catch (DataIntegrityViolationException e) {
                 log.warn("Duplicate like insert ignored. memberId={}, promptId={}", memberId, promptId, e);
             }
         }
 
+        // 인기 프롬프트는 버퍼에 모아 주기적으로 반영, 나머지는 같은 트랜잭션에서 바로 증감
+        long unflushed = 0;
+        if (delta != 0) {
+            if (likeCountBuffer.offer(promptId, delta)) {
+                unflushed = delta;
+            } else {
+                promptRepository.addLikeCount(promptId, delta);
+            }
+            hotPromptRanking.recordAfterCommit(promptId, prompt.getCategory(), prompt.isVisible(), likedAt, delta);
+            promptFeedCache.markLikesDirtyAfterCommit(prompt.getCategory());
+        }
+
         LikesToggleResponse response = new LikesToggleResponse();
-        response.setLiked(likesRepository.existsByMemberIdAndPromptId(memberId, promptId));
-        response.setLikeCount(likesRepository.countByPromptId(promptId));
+        response.setLiked(liked);
+        response.setLikeCount(Math.max(0, promptRepository.findLikeCount(promptId)
+                + likeCountBuffer.pending(promptId) + unflushed));
         return response;
     }
 }
@@ -14,7 +14,10 @@ import promptstudio.promptstudio.global.common.entity.BaseEntity;
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"member_id","prompt_id"}))
+@Table(
+        uniqueConstraints = @UniqueConstraint(columnNames = {"member_id","prompt_id"}),
+        indexes = @Index(name = "idx_likes_member_created_at", columnList = "member_id, created_at")
+)
 public class Likes extends BaseEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -1,10 +1,17 @@
 package promptstudio.promptstudio.domain.likes.domain.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import promptstudio.promptstudio.domain.likes.domain.entity.Likes;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 public interface LikesRepository extends JpaRepository<Likes, Long> {
 
     @Query("""
@@ -23,6 +30,49 @@ public interface LikesRepository extends JpaRepository<Likes, Long> {
     boolean existsByPromptIdAndMemberId(@Param("promptId") Long promptId,
                                         @Param("memberId") Long memberId);
 
+    // 피드 스냅샷 페이지에 liked 플래그를 덮어쓰기 위한 조회 (페이지 크기만큼만)
+    @Query("""
+        SELECT l.prompt.id
+        FROM Likes l
+        WHERE l.member.id = :memberId
+          AND l.prompt.id IN :promptIds
+    """)
+    List<Long> findLikedPromptIds(@Param("memberId") Long memberId,
+                                  @Param("promptIds") Collection<Long> promptIds);
+
+    // 주간 인기 랭킹 sliding window 재적재 (공개 프롬프트만)
+    @Query(value = """
+        SELECT l.prompt_id AS promptId,
+               p.category AS category,
+               TIMESTAMPDIFF(HOUR, :since, l.created_at) AS hourOffset,
+               COUNT(*) AS likes
+        FROM likes l
+        JOIN prompt p ON p.id = l.prompt_id
+        WHERE l.created_at >= :since
+          AND p.visible = true
+        GROUP BY l.prompt_id, p.category, hourOffset
+    """, nativeQuery = true)
+    List<WeeklyLikeBucket> findWeeklyLikeBuckets(@Param("since") LocalDateTime since);
+
+    @Query("""
+        SELECT l.createdAt
+        FROM Likes l
+        WHERE l.member.id = :memberId
+          AND l.prompt.id = :promptId
+    """)
+    Optional<LocalDateTime> findCreatedAt(@Param("memberId") Long memberId,
+                                          @Param("promptId") Long promptId);
+
     boolean existsByMemberIdAndPromptId(Long memberId, Long promptId);
-    void deleteByMemberIdAndPromptId(Long memberId, Long promptId);
+
+    // 실제로 삭제된 경우에만 like_count를 줄이기 위해 삭제 건수 반환
+    @Transactional
+    @Modifying
+    @Query("""
+        DELETE FROM Likes l
+        WHERE l.member.id = :memberId
+          AND l.prompt.id = :promptId
+    """)
+    int deleteByMemberIdAndPromptId(@Param("memberId") Long memberId,
+                                    @Param("promptId") Long promptId);
 }
@@ -0,0 +1,12 @@
+package promptstudio.promptstudio.domain.likes.domain.repository;
+
+/**
+ * 주간 인기 랭킹 재적재용 (프롬프트, 시간 버킷)별 좋아요 수
+ * hourOffset은 조회 기준 시각(since)으로부터 몇 시간째 버킷인지
+ */
+public interface WeeklyLikeBucket {
+    Long getPromptId();
+    String getCategory();
+    Long getHourOffset();
+    Long getLikes();
+}
@@ -22,7 +22,7 @@ import promptstudio.promptstudio.domain.member.domain.repository.MemberRepositor
 import promptstudio.promptstudio.global.config.FeedbackRateLimiter;
 import promptstudio.promptstudio.global.exception.http.ForbiddenException;
 import promptstudio.promptstudio.global.exception.http.NotFoundException;
-import promptstudio.promptstudio.global.s3.service.S3StorageService;
+import promptstudio.promptstudio.global.s3.service.ContentAddressedStorage;
 import promptstudio.promptstudio.global.gpt.application.GptService;
 
 import java.util.ArrayList;
@@ -38,7 +38,7 @@ public class MakerServiceImpl implements MakerService {
 
     private final MakerRepository makerRepository;
     private final MemberRepository memberRepository;
-    private final S3StorageService s3StorageService;
+    private final ContentAddressedStorage contentAddressedStorage;
     private final GptService gptService;
     private final FeedbackRateLimiter feedbackRateLimiter;
     private final HistoryRepository historyRepository;
@@ -69,16 +69,19 @@ public class MakerServiceImpl implements MakerService {
         maker.updateContent(request.getContent());
 
         List<MakerImage> currentImages = maker.getImages();
+        List<String> currentImageUrls = currentImages.stream()
+                .map(MakerImage::getImageUrl)
+                .toList();
+
+        // 기존 이미지 중에서만 유지 (참조 수가 어긋나지 않도록 외부 URL은 무시)
         List<String> keepImageUrls = request.getExistingImageUrls() != null
-                ? request.getExistingImageUrls()
+                ? request.getExistingImageUrls().stream().filter(currentImageUrls::contains).toList()
                 : new ArrayList<>();
 
-        // 삭제할 이미지 찾아서 S3에서 삭제
-        for (MakerImage image : currentImages) {
-            if (!keepImageUrls.contains(image.getImageUrl())) {
-                s3StorageService.deleteImage(image.getImageUrl());
-            }
-        }
+        // 유지하지 않는 이미지 참조 해제
+        contentAddressedStorage.releaseAll(currentImageUrls.stream()
+                .filter(url -> !keepImageUrls.contains(url))
+                .toList());
 
         // DB에서 모든 이미지 제거
         maker.clearImages();
@@ -97,7 +100,7 @@ public class MakerServiceImpl implements MakerService {
         if (newImages != null && !newImages.isEmpty()) {
             for (MultipartFile file : newImages) {
                 if (!file.isEmpty()) {
-                    String imageUrl = s3StorageService.uploadImage(file, "maker");
+                    String imageUrl = contentAddressedStorage.storeUpload(file);
                     MakerImage makerImage = MakerImage.builder()
                             .imageUrl(imageUrl)
                             .orderIndex(orderIndex++)
@@ -324,7 +327,7 @@ public class MakerServiceImpl implements MakerService {
         Maker maker = makerRepository.findById(makerId)
                 .orElseThrow(() -> new NotFoundException("메이커를 찾을 수 없습니다."));
 
-        String feedback = gptService.generatePromptFeedback(maker.getContent());
+        String feedback = gptService.generatePromptFeedback(memberId, maker.getContent());
 
         return PromptFeedbackResponse.builder()
                 .feedback(feedback)
@@ -368,7 +371,9 @@ public class MakerServiceImpl implements MakerService {
                         .title(maker.getTitle())
                         .resultType(latestHistory.getResultType().name())
                         .resultText(latestHistory.getResultText())
-                        .resultImageUrl(latestHistory.getResultImageUrl())
+                        .resultImageUrl(latestHistory.getResultThumbnailUrl() != null
+                                ? latestHistory.getResultThumbnailUrl()
+                                : latestHistory.getResultImageUrl())
                         .content(null)
                         .updatedAt(maker.getUpdatedAt())
                         .build();
@@ -399,26 +404,30 @@ public class MakerServiceImpl implements MakerService {
             throw new ForbiddenException("삭제 권한이 없습니다.");
         }
 
-        // 3. MakerImage S3 삭제
+        // 3. MakerImage 참조 해제 대상
+        List<String> urlsToRelease = new ArrayList<>();
         for (MakerImage image : maker.getImages()) {
-            s3StorageService.deleteImage(image.getImageUrl());
+            urlsToRelease.add(image.getImageUrl());
         }
 
         // 4. History 조회 (with SnapshotImages)
         List<History> histories = historyRepository.findAllByMakerIdWithImages(makerId);
 
         for (History history : histories) {
-            // 5. History resultImageUrl S3 삭제 (IMAGE 타입만)
+            // 5. History resultImageUrl (IMAGE 타입만)
             if (history.getResultType() == ResultType.IMAGE && history.getResultImageUrl() != null) {
-                s3StorageService.deleteImage(history.getResultImageUrl());
+                urlsToRelease.add(history.getResultImageUrl());
             }
 
-            // 6. HistorySnapshotImage S3 삭제
+            // 6. HistorySnapshotImage
             for (HistorySnapshotImage snapshotImage : history.getSnapshotImages()) {
-                s3StorageService.deleteImage(snapshotImage.getImageUrl());
+                urlsToRelease.add(snapshotImage.getImageUrl());
             }
         }
 
+        // 참조가 0이 된 객체는 유예 시간 뒤 삭제됨 (이전 방식 URL은 즉시 삭제)
+        contentAddressedStorage.releaseAll(urlsToRelease);
+
         // 7. Maker 삭제 (CASCADE로 MakerImage, History, HistorySnapshotImage DB 자동 삭제)
         makerRepository.delete(maker);
     }
@@ -37,11 +37,13 @@ public class PromptController {
     }
 
     @GetMapping("/prompts")
-    @Operation(summary = "프롬프트 전체 조회", description = "프롬프트 전체 조회 API")
-    public ResponseEntity<List<PromptCardNewsResponse>> getAllPrompts(@AuthenticationPrincipal Long memberId,
-                                                                      @RequestParam(value = "category", defaultValue = "전체") String category,
-                                                                      @RequestParam(value = "sort", defaultValue = "like") String sortBy) {
-        List<PromptCardNewsResponse> response = promptService.getAllPrompts(memberId, category, sortBy);
+    @Operation(summary = "프롬프트 전체 조회", description = "프롬프트 전체 조회 API (cursor 기반 페이지, size 기본 20 / 최대 50)")
+    public ResponseEntity<PromptCardPageResponse> getAllPrompts(@AuthenticationPrincipal Long memberId,
+                                                                @RequestParam(value = "category", defaultValue = "전체") String category,
+                                                                @RequestParam(value = "sort", defaultValue = "like") String sortBy,
+                                                                @RequestParam(value = "cursor", required = false) String cursor,
+                                                                @RequestParam(value = "size", required = false) Integer size) {
+        PromptCardPageResponse response = promptService.getAllPrompts(memberId, category, sortBy, cursor, size);
         return ResponseEntity.ok(response);
     }
 
@@ -54,19 +56,23 @@ public class PromptController {
     }
 
     @GetMapping("/prompts/likes")
-    @Operation(summary = "좋아요한 프롬프트 조회", description = "좋아요한 프롬프트 조회 API")
-    public ResponseEntity<List<PromptCardNewsResponse>> getLikedPrompts(@AuthenticationPrincipal Long memberId,
-                                                                        @RequestParam(value = "category", defaultValue = "전체") String category) {
-        List<PromptCardNewsResponse> response = promptService.getLikedPrompts(memberId, category);
+    @Operation(summary = "좋아요한 프롬프트 조회", description = "좋아요한 프롬프트 조회 API (cursor 기반 페이지)")
+    public ResponseEntity<PromptCardPageResponse> getLikedPrompts(@AuthenticationPrincipal Long memberId,
+                                                                  @RequestParam(value = "category", defaultValue = "전체") String category,
+                                                                  @RequestParam(value = "cursor", required = false) String cursor,
+                                                                  @RequestParam(value = "size", required = false) Integer size) {
+        PromptCardPageResponse response = promptService.getLikedPrompts(memberId, category, cursor, size);
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/prompts/me")
-    @Operation(summary = "내 프롬프트 조회", description = "내 프롬프트 조회 API")
-    public ResponseEntity<List<PromptCardNewsResponse>> getMyPrompts(@AuthenticationPrincipal Long memberId,
-                                                                     @RequestParam(value = "category", defaultValue = "전체") String category,
-                                                                     @RequestParam(value = "visibility", defaultValue = "all") String visibility) {
-        List<PromptCardNewsResponse> response = promptService.getMyPrompts(memberId, category, visibility);
+    @Operation(summary = "내 프롬프트 조회", description = "내 프롬프트 조회 API (cursor 기반 페이지)")
+    public ResponseEntity<PromptCardPageResponse> getMyPrompts(@AuthenticationPrincipal Long memberId,
+                                                               @RequestParam(value = "category", defaultValue = "전체") String category,
+                                                               @RequestParam(value = "visibility", defaultValue = "all") String visibility,
+                                                               @RequestParam(value = "cursor", required = false) String cursor,
+                                                               @RequestParam(value = "size", required = false) Integer size) {
+        PromptCardPageResponse response = promptService.getMyPrompts(memberId, category, visibility, cursor, size);
         return ResponseEntity.ok(response);
     }
 
@@ -79,11 +85,13 @@ public class PromptController {
     }
 
     @GetMapping("/prompts/search")
-    @Operation(summary = "프롬프트 검색", description = "프롬프트 검색 API")
+    @Operation(summary = "프롬프트 검색", description = "프롬프트 검색 API (키워드 + 의미 검색 통합 순위, page는 0부터, size 기본 20 / 최대 50)")
     public ResponseEntity<List<PromptCardNewsResponse>> searchPrompts(@AuthenticationPrincipal Long memberId,
                                                                       @RequestParam(value = "category", defaultValue = "전체") String category,
-                                                                      @RequestParam("q") String query) {
-        List<PromptCardNewsResponse> response = promptService.searchPrompts(memberId, category, query);
+                                                                      @RequestParam("q") String query,
+                                                                      @RequestParam(value = "page", required = false) Integer page,
+                                                                      @RequestParam(value = "size", required = false) Integer size) {
+        List<PromptCardNewsResponse> response = promptService.searchPrompts(memberId, category, query, page, size);
         return ResponseEntity.ok(response);
     }
 
@@ -124,21 +132,25 @@ public class PromptController {
     }
 
     @GetMapping("/prompts/likes/search")
-    @Operation(summary = "좋아요한 프롬프트 검색", description = "좋아요한 프롬프트 검색 API")
-    public ResponseEntity<List<PromptCardNewsResponse>> searchLikedPrompts(@AuthenticationPrincipal Long memberId,
-                                                                           @RequestParam(value = "category", defaultValue = "전체") String category,
-                                                                           @RequestParam("q") String query) {
-        List<PromptCardNewsResponse> response = promptService.searchLikedPrompts(memberId, category, query);
+    @Operation(summary = "좋아요한 프롬프트 검색", description = "좋아요한 프롬프트 검색 API (cursor 기반 페이지)")
+    public ResponseEntity<PromptCardPageResponse> searchLikedPrompts(@AuthenticationPrincipal Long memberId,
+                                                                     @RequestParam(value = "category", defaultValue = "전체") String category,
+                                                                     @RequestParam("q") String query,
+                                                                     @RequestParam(value = "cursor", required = false) String cursor,
+                                                                     @RequestParam(value = "size", required = false) Integer size) {
+        PromptCardPageResponse response = promptService.searchLikedPrompts(memberId, category, query, cursor, size);
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/prompts/me/search")
-    @Operation(summary = "내 프롬프트 검색", description = "내 프롬프트 검색 API")
-    public ResponseEntity<List<PromptCardNewsResponse>> searchMyPrompts(@AuthenticationPrincipal Long memberId,
-                                                                        @RequestParam(value = "category", defaultValue = "전체") String category,
-                                                                        @RequestParam(value = "visibility", defaultValue = "all") String visibility,
-                                                                        @RequestParam("q") String query) {
-        List<PromptCardNewsResponse> response = promptService.searchMyPrompts(memberId, category, visibility, query);
+    @Operation(summary = "내 프롬프트 검색", description = "내 프롬프트 검색 API (cursor 기반 페이지)")
+    public ResponseEntity<PromptCardPageResponse> searchMyPrompts(@AuthenticationPrincipal Long memberId,
+                                                                  @RequestParam(value = "category", defaultValue = "전체") String category,
+                                                                  @RequestParam(value = "visibility", defaultValue = "all") String visibility,
+                                                                  @RequestParam("q") String query,
+                                                                  @RequestParam(value = "cursor", required = false) String cursor,
+                                                                  @RequestParam(value = "size", required = false) Integer size) {
+        PromptCardPageResponse response = promptService.searchMyPrompts(memberId, category, visibility, query, cursor, size);
         return ResponseEntity.ok(response);
     }
 }
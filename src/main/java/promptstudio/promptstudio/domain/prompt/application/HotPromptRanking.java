@@ -0,0 +1,310 @@
+package promptstudio.promptstudio.domain.prompt.application;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import promptstudio.promptstudio.domain.likes.domain.repository.LikesRepository;
+import promptstudio.promptstudio.domain.likes.domain.repository.WeeklyLikeBucket;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 주간(최근 7일) 좋아요 인기 랭킹
+ * - 프롬프트마다 1시간 단위 168칸 ring buffer로 sliding window 좋아요 수를 유지
+ * - 카테고리별(+ 전체) 정렬 집합에서 상위 K개를 꺼내 두고, 읽기는 그 목록을 그대로 반환 (MySQL 조회 없음)
+ * - 좋아요 토글은 커밋 후 바로 반영, 매 시 정각이 지나면 만료된 버킷을 비우고 순위를 다시 만든다
+ * 좋아요 원본은 likes 테이블에 남아 있으므로 기동 시와 resync 주기마다 테이블 기준으로 다시 적재한다.
+ * (다른 인스턴스에서 일어난 토글도 이때 합쳐진다)
+ * 재적재 조회 중에 반영된 토글은 조회 결과에 없을 수 있으므로, 결과로 교체한 뒤 다시 적용한다.
+ */
+@Slf4j
+@Component
+public class HotPromptRanking {
+
+    public static final String ALL = "전체";
+    private static final int WINDOW_HOURS = 24 * 7;
+    private static final int TOP_K = 10;
+
+    public record Ranked(Long promptId, long weeklyLikes) {
+    }
+
+    private static final class Window {
+        private final long promptId;
+        private final long[] counts = new long[WINDOW_HOURS];
+        private String category;
+        private long headHour;
+        private long total;
+
+        private Window(long promptId, String category, long headHour) {
+            this.promptId = promptId;
+            this.category = category;
+            this.headHour = headHour;
+        }
+
+        // 현재 시간까지 밀면서 창 밖으로 나간 버킷 비우기
+        private void advance(long hour) {
+            if (hour <= headHour) {
+                return;
+            }
+            long gap = Math.min(hour - headHour, WINDOW_HOURS);
+            for (long h = hour - gap + 1; h <= hour; h++) {
+                int slot = (int) Math.floorMod(h, (long) WINDOW_HOURS);
+                total -= counts[slot];
+                counts[slot] = 0;
+            }
+            headHour = hour;
+        }
+
+        private void add(long hour, long delta) {
+            if (hour <= headHour - WINDOW_HOURS || hour > headHour) {
+                return;
+            }
+            int slot = (int) Math.floorMod(hour, (long) WINDOW_HOURS);
+            long applied = Math.max(-counts[slot], delta);
+            counts[slot] += applied;
+            total += applied;
+        }
+    }
+
+    // 좋아요 수 내림차순, 동률이면 최신(id 큰) 프롬프트 우선
+    private static final Comparator<Window> ORDER = Comparator
+            .comparingLong((Window w) -> w.total).reversed()
+            .thenComparing(Comparator.comparingLong((Window w) -> w.promptId).reversed());
+
+    private final LikesRepository likesRepository;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private Map<Long, Window> windows = new HashMap<>();
+    private final Map<String, TreeSet<Window>> rankings = new HashMap<>();
+    private volatile Map<String, List<Ranked>> tops = Map.of();
+    private long currentHour = hourOf(LocalDateTime.now());
+    // resync 조회 중에 반영된 변경 (교체 후 다시 적용), 조회 중이 아니면 null
+    private List<Runnable> replay;
+
+    public HotPromptRanking(LikesRepository likesRepository, MeterRegistry meterRegistry) {
+        this.likesRepository = likesRepository;
+        meterRegistry.gauge("prompt.hot.tracked", this, ranking -> ranking.windows.size());
+    }
+
+    /**
+     * 카테고리 상위 limit개 (limit은 TOP_K 이하)
+     */
+    public List<Ranked> top(String category, int limit) {
+        List<Ranked> ranked = tops.getOrDefault(category, List.of());
+        return ranked.size() <= limit ? ranked : ranked.subList(0, limit);
+    }
+
+    // likedAt 시각의 좋아요 1건 추가(+1) / 취소(-1). 커밋된 뒤에 반영
+    public void recordAfterCommit(Long promptId, String category, boolean visible, LocalDateTime likedAt, long delta) {
+        afterCommit(() -> mutate(() -> {
+            if (!visible) {
+                remove(promptId);
+            } else {
+                apply(promptId, category, hourOf(likedAt), delta);
+            }
+        }));
+    }
+
+    // 카테고리 / 공개 여부 변경 반영
+    public void updatePromptAfterCommit(Long promptId, String category, boolean visible) {
+        afterCommit(() -> mutate(() -> {
+            Window window = windows.get(promptId);
+            if (window == null) {
+                return;
+            }
+            if (!visible) {
+                remove(promptId);
+            } else if (!window.category.equals(category)) {
+                unrank(window);
+                window.category = category;
+                rank(window);
+            }
+        }));
+    }
+
+    public void removePromptAfterCommit(Long promptId) {
+        updatePromptAfterCommit(promptId, null, false);
+    }
+
+    // 정각이 지나면 만료 버킷 정리
+    @Scheduled(fixedDelay = 60_000)
+    public void expire() {
+        long hour = hourOf(LocalDateTime.now());
+        lock.lock();
+        try {
+            if (hour <= currentHour) {
+                return;
+            }
+            currentHour = hour;
+            Iterator<Window> it = windows.values().iterator();
+            while (it.hasNext()) {
+                Window window = it.next();
+                window.advance(hour);
+                if (window.total <= 0) {
+                    it.remove();
+                }
+            }
+            rebuildRankings();
+            publish();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.prompt.hot.resync-interval-ms:600000}",
+            fixedDelayString = "${app.prompt.hot.resync-interval-ms:600000}")
+    public void resync() {
+        LocalDateTime now = LocalDateTime.now();
+        long hour = hourOf(now);
+        LocalDateTime since = now.truncatedTo(ChronoUnit.HOURS).minusHours(WINDOW_HOURS - 1);
+        long sinceHour = hourOf(since);
+
+        lock.lock();
+        try {
+            replay = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            List<WeeklyLikeBucket> buckets = likesRepository.findWeeklyLikeBuckets(since);
+
+            Map<Long, Window> loaded = new HashMap<>();
+            for (WeeklyLikeBucket bucket : buckets) {
+                Window window = loaded.computeIfAbsent(bucket.getPromptId(),
+                        id -> new Window(id, bucket.getCategory(), hour));
+                window.add(sinceHour + bucket.getHourOffset(), bucket.getLikes());
+            }
+
+            lock.lock();
+            try {
+                windows = loaded;
+                currentHour = hour;
+                rebuildRankings();
+                // 조회 직전에 커밋된 토글이 조회 결과에도 있으면 다음 resync까지 한 번 더 세어질 수 있다
+                replay.forEach(Runnable::run);
+                publish();
+            } finally {
+                lock.unlock();
+            }
+            log.debug("주간 인기 랭킹 재적재: {}개 프롬프트", loaded.size());
+        } finally {
+            lock.lock();
+            try {
+                replay = null;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // 토글 반영 (resync 조회 중이면 교체 후 다시 적용하도록 기록)
+    private void mutate(Runnable mutation) {
+        lock.lock();
+        try {
+            mutation.run();
+            if (replay != null) {
+                replay.add(mutation);
+            }
+            publish();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void apply(Long promptId, String category, long hour, long delta) {
+        // 정각 직후 expire() 전에 들어온 좋아요도 받을 수 있도록 창을 먼저 민다
+        long head = Math.max(currentHour, hour);
+        Window window = windows.get(promptId);
+        if (window == null) {
+            if (delta <= 0) {
+                return;
+            }
+            window = new Window(promptId, category, head);
+            windows.put(promptId, window);
+        } else {
+            unrank(window);
+        }
+
+        window.advance(head);
+        window.add(hour, delta);
+        if (window.total <= 0) {
+            windows.remove(promptId);
+            return;
+        }
+        rank(window);
+    }
+
+    private void remove(Long promptId) {
+        Window window = windows.remove(promptId);
+        if (window != null) {
+            unrank(window);
+        }
+    }
+
+    // 정렬 키(total)가 바뀌기 전에 빼고, 바뀐 뒤에 다시 넣는다
+    private void unrank(Window window) {
+        rankings.getOrDefault(window.category, new TreeSet<>(ORDER)).remove(window);
+        rankings.getOrDefault(ALL, new TreeSet<>(ORDER)).remove(window);
+    }
+
+    private void rank(Window window) {
+        rankings.computeIfAbsent(window.category, c -> new TreeSet<>(ORDER)).add(window);
+        rankings.computeIfAbsent(ALL, c -> new TreeSet<>(ORDER)).add(window);
+    }
+
+    private void rebuildRankings() {
+        rankings.clear();
+        windows.values().forEach(this::rank);
+    }
+
+    private void publish() {
+        Map<String, List<Ranked>> next = new HashMap<>();
+        rankings.forEach((category, ranked) -> {
+            List<Ranked> top = new ArrayList<>(Math.min(TOP_K, ranked.size()));
+            for (Window window : ranked) {
+                if (top.size() == TOP_K) {
+                    break;
+                }
+                top.add(new Ranked(window.promptId, window.total));
+            }
+            if (!top.isEmpty()) {
+                next.put(category, List.copyOf(top));
+            }
+        });
+        tops = next;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static long hourOf(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 3600;
+    }
+}
@@ -0,0 +1,68 @@
+package promptstudio.promptstudio.domain.prompt.application;
+
+import promptstudio.promptstudio.domain.prompt.dto.PromptCardNewsResponse;
+import promptstudio.promptstudio.global.exception.http.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 카드 목록 keyset 커서
+ * 마지막으로 받은 카드의 정렬 키 (likeCount, 시각, promptId)를 담고, 다음 페이지는 그보다 뒤의 행만 조회한다.
+ * 첫 페이지는 모든 행보다 앞선 값(FIRST)으로 같은 쿼리를 태운다.
+ * API에는 base64url 문자열로만 노출한다.
+ */
+public record PromptCursor(long likeCount, LocalDateTime time, long id) {
+
+    // MySQL DATETIME 상한
+    private static final LocalDateTime MAX_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    public static final PromptCursor FIRST = new PromptCursor(Long.MAX_VALUE, MAX_TIME, Long.MAX_VALUE);
+
+    public static PromptCursor byLikeCount(PromptCardNewsResponse card) {
+        return new PromptCursor(card.getLikeCount(), card.getCreatedAt(), card.getPromptId());
+    }
+
+    public static PromptCursor byCreatedAt(PromptCardNewsResponse card) {
+        return new PromptCursor(Long.MAX_VALUE, card.getCreatedAt(), card.getPromptId());
+    }
+
+    public static PromptCursor byLikedAt(PromptCardNewsResponse card) {
+        return new PromptCursor(Long.MAX_VALUE, card.getLikedAt(), card.getPromptId());
+    }
+
+    public static PromptCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            return new PromptCursor(Long.parseLong(parts[0]), LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("잘못된 cursor 값입니다.");
+        }
+    }
+
+    public String encode() {
+        String raw = likeCount + "|" + time + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // like순 (likeCount, createdAt, id 내림차순)에서 커서 다음 페이지에 들어갈 카드인지
+    boolean acceptsByLikeCount(PromptCardNewsResponse card) {
+        if (card.getLikeCount() != likeCount) {
+            return card.getLikeCount() < likeCount;
+        }
+        return acceptsByCreatedAt(card);
+    }
+
+    // 최신순 (createdAt, id 내림차순)에서 커서 다음 페이지에 들어갈 카드인지
+    boolean acceptsByCreatedAt(PromptCardNewsResponse card) {
+        int compared = card.getCreatedAt().compareTo(time);
+        if (compared != 0) {
+            return compared < 0;
+        }
+        return card.getPromptId() < id;
+    }
+}
@@ -0,0 +1,268 @@
+package promptstudio.promptstudio.domain.prompt.application;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import promptstudio.promptstudio.domain.prompt.domain.repository.PromptRepository;
+import promptstudio.promptstudio.domain.prompt.dto.PromptCardNewsResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 메인 피드 스냅샷 캐시
+ * - (category, sort)별로 게스트 기준 카드 목록(liked=false) 앞쪽 snapshot-size개를 들고 있는다
+ * - 백그라운드에서 refresh-interval마다, 또는 좋아요/프롬프트 변경 직후(최대 1초 지연) 다시 만든다
+ *   (변경은 (category, sort) 단위로 표시해 영향받는 스냅샷만 다시 만든다)
+ * - 페이지는 스냅샷에서 커서 위치를 이분 탐색해 잘라 주고, 스냅샷 범위를 넘는 페이지만 DB keyset 조회
+ * - 로그인 사용자는 해당 페이지 카드 중 본인이 좋아요한 id만 조회해서 liked 플래그를 덮어쓴다
+ * 좋아요 수 / 정렬은 최대 갱신 주기만큼 늦게 반영될 수 있다.
+ */
+@Slf4j
+@Component
+public class PromptFeedCache {
+
+    private static final int HOT_SIZE = 3;
+
+    public enum FeedSort {
+        LIKE, LATEST, HOT
+    }
+
+    private record FeedKey(String category, FeedSort sort) {
+    }
+
+    // complete: 조건에 맞는 카드를 전부 담았는지 (snapshot-size 미만)
+    private record Snapshot(List<PromptCardNewsResponse> cards, boolean complete, long builtAt) {
+    }
+
+    private final PromptRepository promptRepository;
+    private final HotPromptRanking hotPromptRanking;
+    private final Cache<FeedKey, Snapshot> snapshots;
+    private final long refreshIntervalMs;
+    private final int snapshotSize;
+    // 변경 커밋 후 다시 만들어야 하는 스냅샷
+    private final Set<FeedKey> dirtyKeys = ConcurrentHashMap.newKeySet();
+
+    public PromptFeedCache(
+            PromptRepository promptRepository,
+            HotPromptRanking hotPromptRanking,
+            MeterRegistry meterRegistry,
+            @Value("${app.prompt.feed.refresh-interval-ms:10000}") long refreshIntervalMs,
+            @Value("${app.prompt.feed.idle-expire-minutes:30}") long idleExpireMinutes,
+            @Value("${app.prompt.feed.snapshot-size:1000}") int snapshotSize
+    ) {
+        this.promptRepository = promptRepository;
+        this.hotPromptRanking = hotPromptRanking;
+        this.refreshIntervalMs = refreshIntervalMs;
+        this.snapshotSize = snapshotSize;
+        this.snapshots = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(idleExpireMinutes))
+                .maximumSize(200)
+                .recordStats()
+                .build();
+        meterRegistry.gauge("prompt.feed.cache.hit.ratio", snapshots, cache -> cache.stats().hitRate());
+    }
+
+    public List<PromptCardNewsResponse> getHot(String category) {
+        return snapshot(new FeedKey(category, FeedSort.HOT)).cards();
+    }
+
+    /**
+     * cursor 다음 카드를 최대 limit개 반환 (LIKE / LATEST)
+     */
+    public List<PromptCardNewsResponse> page(String category, FeedSort sort, PromptCursor cursor, int limit) {
+        Snapshot snapshot = snapshot(new FeedKey(category, sort));
+        List<PromptCardNewsResponse> cards = snapshot.cards();
+
+        int from = firstAfter(cards, sort, cursor);
+        int to = Math.min(from + limit, cards.size());
+        if (to - from == limit || snapshot.complete()) {
+            return cards.subList(from, to);
+        }
+
+        // 스냅샷 뒤쪽 페이지는 DB에서 이어서 조회
+        return load(category, sort, cursor, limit);
+    }
+
+    /**
+     * 카드에 회원별 liked 플래그를 입힌 사본 반환 (공유 스냅샷은 건드리지 않음)
+     */
+    public List<PromptCardNewsResponse> withLiked(List<PromptCardNewsResponse> cards, Collection<Long> likedPromptIds) {
+        if (likedPromptIds.isEmpty()) {
+            return cards;
+        }
+        List<PromptCardNewsResponse> result = new ArrayList<>(cards.size());
+        for (PromptCardNewsResponse card : cards) {
+            if (!likedPromptIds.contains(card.getPromptId())) {
+                result.add(card);
+                continue;
+            }
+            result.add(new PromptCardNewsResponse(
+                    card.getPromptId(),
+                    card.getMemberId(),
+                    card.getCategory(),
+                    card.getAiEnvironment(),
+                    card.getTitle(),
+                    card.getIntroduction(),
+                    card.getImageUrl(),
+                    true,
+                    card.getLikeCount(),
+                    card.getCreatedAt()
+            ));
+        }
+        return result;
+    }
+
+    // 좋아요 증감 커밋 후: 해당 카테고리와 전체의 좋아요순 / 인기 스냅샷만 앞당겨 갱신
+    public void markLikesDirtyAfterCommit(String category) {
+        markDirtyAfterCommit(List.of(FeedSort.LIKE, FeedSort.HOT), category);
+    }
+
+    // 프롬프트 생성/수정/삭제 커밋 후: 관련 카테고리(수정 전/후)와 전체의 모든 정렬
+    public void markPromptDirtyAfterCommit(String... categories) {
+        markDirtyAfterCommit(List.of(FeedSort.values()), categories);
+    }
+
+    private void markDirtyAfterCommit(List<FeedSort> sorts, String... categories) {
+        List<FeedKey> keys = new ArrayList<>();
+        for (FeedSort sort : sorts) {
+            keys.add(new FeedKey(HotPromptRanking.ALL, sort));
+            for (String category : categories) {
+                if (category != null) {
+                    keys.add(new FeedKey(category, sort));
+                }
+            }
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dirtyKeys.addAll(keys);
+                }
+            });
+        } else {
+            dirtyKeys.addAll(keys);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.prompt.feed.check-interval-ms:1000}")
+    public void refresh() {
+        long now = System.currentTimeMillis();
+
+        for (var entry : snapshots.asMap().entrySet()) {
+            boolean changed = dirtyKeys.remove(entry.getKey());
+            if (!changed && now - entry.getValue().builtAt() < refreshIntervalMs) {
+                continue;
+            }
+            try {
+                // 읽기 경로는 교체 전까지 이전 스냅샷을 그대로 사용
+                snapshots.asMap().replace(entry.getKey(), entry.getValue(), build(entry.getKey()));
+            } catch (RuntimeException e) {
+                log.warn("피드 스냅샷 갱신 실패, 이전 스냅샷 유지: {}", entry.getKey(), e);
+                if (changed) {
+                    dirtyKeys.add(entry.getKey());
+                }
+            }
+        }
+        // 캐시에 없는 키는 다음 조회 때 새로 만들어지므로 표시만 지운다
+        dirtyKeys.retainAll(snapshots.asMap().keySet());
+    }
+
+    private Snapshot snapshot(FeedKey key) {
+        Snapshot cached = snapshots.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        // Caffeine.get(key, loader)는 로딩 중 락을 잡으므로 DB 조회는 락 밖에서 수행 (virtual thread pinning 방지)
+        Snapshot built = build(key);
+        Snapshot raced = snapshots.asMap().putIfAbsent(key, built);
+        return raced != null ? raced : built;
+    }
+
+    private Snapshot build(FeedKey key) {
+        if (key.sort() == FeedSort.HOT) {
+            return new Snapshot(List.copyOf(buildHot(key.category())), true, System.currentTimeMillis());
+        }
+
+        List<PromptCardNewsResponse> cards = load(key.category(), key.sort(), PromptCursor.FIRST, snapshotSize);
+        return new Snapshot(List.copyOf(cards), cards.size() < snapshotSize, System.currentTimeMillis());
+    }
+
+    // 주간 랭킹 상위 id로 카드 구성 (likeCount는 주간 좋아요 수), 부족하면 최신 프롬프트로 채움
+    private List<PromptCardNewsResponse> buildHot(String category) {
+        List<HotPromptRanking.Ranked> ranked = hotPromptRanking.top(category, HOT_SIZE);
+
+        Map<Long, PromptCardNewsResponse> cardsById = new HashMap<>();
+        if (!ranked.isEmpty()) {
+            List<Long> ids = ranked.stream().map(HotPromptRanking.Ranked::promptId).toList();
+            for (PromptCardNewsResponse card : promptRepository.findPromptsByIdsWithCategory(ids, null, category)) {
+                cardsById.put(card.getPromptId(), card);
+            }
+        }
+
+        List<PromptCardNewsResponse> cards = new ArrayList<>(HOT_SIZE);
+        for (HotPromptRanking.Ranked rank : ranked) {
+            PromptCardNewsResponse card = cardsById.get(rank.promptId());
+            if (card != null) {
+                card.setLikeCount(rank.weeklyLikes());
+                cards.add(card);
+            }
+        }
+
+        if (cards.size() < HOT_SIZE) {
+            for (PromptCardNewsResponse card : load(category, FeedSort.LATEST, PromptCursor.FIRST, HOT_SIZE * 2)) {
+                if (cards.size() == HOT_SIZE) {
+                    break;
+                }
+                if (!cardsById.containsKey(card.getPromptId())) {
+                    card.setLikeCount(0);
+                    cards.add(card);
+                }
+            }
+        }
+        return cards;
+    }
+
+    private List<PromptCardNewsResponse> load(String category, FeedSort sort, PromptCursor cursor, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        return switch (sort) {
+            case LIKE -> promptRepository.findFeedOrderByLikeCount(
+                    category, cursor.likeCount(), cursor.time(), cursor.id(), page);
+            case LATEST -> promptRepository.findFeedOrderByCreatedAt(
+                    category, cursor.time(), cursor.id(), page);
+            case HOT -> throw new IllegalArgumentException("HOT 피드는 페이지 조회를 지원하지 않습니다.");
+        };
+    }
+
+    // 스냅샷은 정렬돼 있으므로 커서 다음 첫 위치를 이분 탐색
+    private int firstAfter(List<PromptCardNewsResponse> cards, FeedSort sort, PromptCursor cursor) {
+        int low = 0;
+        int high = cards.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            boolean after = sort == FeedSort.LIKE
+                    ? cursor.acceptsByLikeCount(cards.get(mid))
+                    : cursor.acceptsByCreatedAt(cards.get(mid));
+            if (after) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,101 @@
+package promptstudio.promptstudio.domain.prompt.application;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * 내 프롬프트 / 좋아요한 프롬프트 검색용 MySQL FULLTEXT(ngram) 인덱스
+ * - 인덱스는 db/migration/prompt_fulltext_index.sql로 만든다 (ddl-auto로는 안 만들어지고, 첫 FULLTEXT 추가는 테이블을 다시 만들어 쓰기를 막음)
+ * - 앱은 인덱스가 있는지만 확인한다
+ * - 검색어를 BOOLEAN MODE 식으로 바꿔 준다: 공백으로 나눈 단어마다 +"단어" (모든 단어 포함, 단어 내부는 연속 일치)
+ * 인덱스가 준비되지 않았거나 ngram 크기보다 짧은 단어가 있으면 기존 LIKE 검색을 그대로 쓴다.
+ */
+@Slf4j
+@Component
+public class PromptFullTextSearch {
+
+    private static final String INDEX_NAME = "ft_prompt_text";
+    private static final int MAX_TERMS = 8;
+    // BOOLEAN MODE 연산자
+    private static final String OPERATORS = "[+\\-<>()~*\"@]";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int ngramSize;
+    private volatile boolean ready;
+
+    public PromptFullTextSearch(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.prompt.search.fulltext.enabled:true}") boolean enabled,
+            @Value("${app.prompt.search.fulltext.ngram-size:2}") int ngramSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.ngramSize = ngramSize;
+    }
+
+    /**
+     * FULLTEXT로 처리할 수 있으면 BOOLEAN MODE 검색식, 아니면 empty (LIKE 경로)
+     */
+    public Optional<String> plan(String query) {
+        if (!ready || query == null) {
+            return Optional.empty();
+        }
+
+        String[] terms = query.replaceAll(OPERATORS, " ").trim().split("\\s+");
+        if (terms.length == 0 || terms.length > MAX_TERMS || terms[0].isEmpty()) {
+            return Optional.empty();
+        }
+        for (String term : terms) {
+            if (term.length() < ngramSize) {
+                return Optional.empty();
+            }
+        }
+
+        return Optional.of(Arrays.stream(terms)
+                .map(term -> "+\"" + term + "\"")
+                .collect(Collectors.joining(" ")));
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // 기동 시, 그리고 인덱스가 아직 없으면 주기적으로 확인 (마이그레이션 적용 후 재시작 없이 전환)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.prompt.search.fulltext.check-interval-ms:600000}",
+            fixedDelayString = "${app.prompt.search.fulltext.check-interval-ms:600000}")
+    public void checkIndex() {
+        if (!enabled || ready) {
+            return;
+        }
+        try {
+            Integer exists = jdbcTemplate.queryForObject("""
+                    SELECT COUNT(*)
+                    FROM information_schema.statistics
+                    WHERE table_schema = DATABASE()
+                      AND table_name = 'prompt'
+                      AND index_name = ?
+                    """, Integer.class, INDEX_NAME);
+
+            if (exists == null || exists == 0) {
+                log.warn("FULLTEXT 인덱스 {}가 없어 LIKE 검색을 유지합니다. (db/migration/prompt_fulltext_index.sql 적용 필요)", INDEX_NAME);
+                return;
+            }
+            ready = true;
+            log.info("FULLTEXT 인덱스 확인, 검색에 사용: {}", INDEX_NAME);
+        } catch (DataAccessException e) {
+            log.warn("FULLTEXT 인덱스 확인 실패, LIKE 검색을 유지합니다.", e);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package promptstudio.promptstudio.domain.prompt.application;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import promptstudio.promptstudio.domain.prompt.domain.repository.PromptRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 프롬프트 통합 검색 (lexical + vector)
+ * - lexical: prompt ngram FULLTEXT 인덱스(ft_prompt_text) 관련도 순
+ * - vector: Qdrant 유사도 순
+ * 두 조회를 동시에 실행하고 reciprocal rank fusion(score = Σ 1 / (k + rank))으로 합친다.
+ * 각 조회는 페이지와 상관없이 고정된 깊이(candidates-per-leg)만큼 가져온다.
+ * (페이지마다 깊이가 달라지면 합친 순서도 달라져 페이지 사이에 누락/중복이 생긴다)
+ * 한쪽이 실패/지연되면 나머지 결과만 사용한다.
+ */
+@Slf4j
+@Component
+public class PromptHybridSearch {
+
+    private static final String LEXICAL = "lexical";
+    private static final String VECTOR = "vector";
+
+    private final PromptRepository promptRepository;
+    private final PromptFullTextSearch promptFullTextSearch;
+    private final VectorStore vectorStore;
+    private final ThreadPoolTaskExecutor promptSearchExecutor;
+    private final MeterRegistry meterRegistry;
+    private final int rrfK;
+    private final int candidatesPerLeg;
+    private final long legTimeoutMs;
+
+    public PromptHybridSearch(
+            PromptRepository promptRepository,
+            PromptFullTextSearch promptFullTextSearch,
+            VectorStore vectorStore,
+            ThreadPoolTaskExecutor promptSearchExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${app.prompt.search.rrf-k:60}") int rrfK,
+            @Value("${app.prompt.search.candidates-per-leg:100}") int candidatesPerLeg,
+            @Value("${app.prompt.search.leg-timeout-ms:3000}") long legTimeoutMs
+    ) {
+        this.promptRepository = promptRepository;
+        this.promptFullTextSearch = promptFullTextSearch;
+        this.vectorStore = vectorStore;
+        this.promptSearchExecutor = promptSearchExecutor;
+        this.meterRegistry = meterRegistry;
+        this.rrfK = rrfK;
+        this.candidatesPerLeg = candidatesPerLeg;
+        this.legTimeoutMs = legTimeoutMs;
+    }
+
+    /**
+     * 합친 순위 상위 candidates-per-leg개 promptId (순위 순)
+     */
+    public List<Long> search(String category, String query) {
+        CompletableFuture<List<Long>> lexical = leg(LEXICAL, () -> lexical(category, query, candidatesPerLeg));
+        CompletableFuture<List<Long>> vector = leg(VECTOR, () -> vector(category, query, candidatesPerLeg));
+
+        List<Long> fused = fuse(lexical.join(), vector.join(), rrfK);
+        return fused.size() <= candidatesPerLeg ? fused : fused.subList(0, candidatesPerLeg);
+    }
+
+    private List<Long> lexical(String category, String query, int candidates) {
+        if (!promptFullTextSearch.isReady()) {
+            return List.of();
+        }
+        return promptRepository.findIdsByFullTextRelevance(category, query, candidates);
+    }
+
+    private List<Long> vector(String category, String query, int candidates) {
+        SearchRequest.Builder builder = SearchRequest.builder()
+                .query(query)
+                .topK(candidates);
+
+        if (category != null && !"전체".equals(category)) {
+            builder.filterExpression("category == '" + category + "'");
+        }
+
+        List<Document> docs = vectorStore.similaritySearch(builder.build());
+
+        return docs.stream()
+                .map(doc -> toLong(doc.getMetadata().get("promptId")))
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+    }
+
+    private CompletableFuture<List<Long>> leg(String name, Supplier<List<Long>> search) {
+        return CompletableFuture
+                .supplyAsync(() -> {
+                    long start = System.nanoTime();
+                    String outcome = "success";
+                    try {
+                        return search.get();
+                    } catch (RuntimeException e) {
+                        outcome = "error";
+                        throw e;
+                    } finally {
+                        Timer.builder("prompt.search.leg")
+                                .tag("leg", name)
+                                .tag("outcome", outcome)
+                                .register(meterRegistry)
+                                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    }
+                }, promptSearchExecutor)
+                .completeOnTimeout(null, legTimeoutMs, TimeUnit.MILLISECONDS)
+                .handle((ids, e) -> {
+                    if (e != null) {
+                        log.warn("프롬프트 검색 {} 조회 실패, 나머지 결과만 사용합니다.", name, e);
+                        return List.of();
+                    }
+                    if (ids == null) {
+                        log.warn("프롬프트 검색 {} 조회가 {}ms 안에 끝나지 않아 나머지 결과만 사용합니다.", name, legTimeoutMs);
+                        return List.of();
+                    }
+                    return ids;
+                });
+    }
+
+    // 양쪽 순위를 RRF 점수로 합산, 동점이면 먼저 등장한 순서 유지
+    static List<Long> fuse(List<Long> lexical, List<Long> vector, int k) {
+        Map<Long, Double> scores = new HashMap<>();
+        List<Long> order = new ArrayList<>();
+        for (List<Long> ranked : List.of(lexical, vector)) {
+            for (int rank = 0; rank < ranked.size(); rank++) {
+                Long id = ranked.get(rank);
+                if (!scores.containsKey(id)) {
+                    order.add(id);
+                }
+                scores.merge(id, 1.0 / (k + rank + 1), Double::sum);
+            }
+        }
+        order.sort((a, b) -> Double.compare(scores.get(b), scores.get(a)));
+        return order;
+    }
+
+    private Long toLong(Object raw) {
+        if (raw == null) {
+            return null;
+        }
+        if (raw instanceof Number n) {
+            return n.longValue();
+        }
+        try {
+            return Long.parseLong(raw.toString());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
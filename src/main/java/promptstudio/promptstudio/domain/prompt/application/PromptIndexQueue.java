@@ -0,0 +1,165 @@
+package promptstudio.promptstudio.domain.prompt.application;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import promptstudio.promptstudio.domain.prompt.domain.entity.Prompt;
+import promptstudio.promptstudio.domain.prompt.domain.entity.PromptIndexAction;
+import promptstudio.promptstudio.domain.prompt.domain.entity.PromptIndexTask;
+import promptstudio.promptstudio.domain.prompt.domain.repository.PromptIndexTaskRepository;
+import promptstudio.promptstudio.domain.prompt.domain.repository.PromptRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 프롬프트 벡터 색인 대기열
+ * - 요청 경로에서는 promptId와 INDEX/DELETE만 PromptIndexTask로 저장 (호출 트랜잭션과 함께 커밋/롤백)
+ * - 워커가 batch-size개씩 꺼내 프롬프트별 마지막 이벤트만 반영: 임베딩은 한 번의 다건 요청, Qdrant upsert/delete도 일괄
+ * - 색인 시점의 프롬프트 행을 다시 읽으므로, 그 사이 비공개/삭제됐으면 벡터를 지운다
+ * - 일괄 처리가 실패하면 프롬프트 단위로 나눠 다시 시도하고, 그래도 실패한 작업은 지수 백오프로 재시도
+ */
+@Slf4j
+@Component
+public class PromptIndexQueue {
+
+    private static final int MAX_BATCHES_PER_RUN = 10;
+
+    private final PromptIndexTaskRepository promptIndexTaskRepository;
+    private final PromptRepository promptRepository;
+    private final PromptIndexService promptIndexService;
+    private final int batchSize;
+    private final int maxAttempts;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    public PromptIndexQueue(
+            PromptIndexTaskRepository promptIndexTaskRepository,
+            PromptRepository promptRepository,
+            PromptIndexService promptIndexService,
+            MeterRegistry meterRegistry,
+            @Value("${app.prompt.index.batch-size:32}") int batchSize,
+            @Value("${app.prompt.index.max-attempts:8}") int maxAttempts
+    ) {
+        this.promptIndexTaskRepository = promptIndexTaskRepository;
+        this.promptRepository = promptRepository;
+        this.promptIndexService = promptIndexService;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        meterRegistry.gauge("prompt.index.pending", pending);
+        // 가장 오래 기다린 색인 작업의 대기 시간(초)
+        meterRegistry.gauge("prompt.index.lag", lagSeconds);
+    }
+
+    public void enqueueIndex(Long promptId) {
+        promptIndexTaskRepository.save(PromptIndexTask.builder()
+                .promptId(promptId)
+                .action(PromptIndexAction.INDEX)
+                .build());
+    }
+
+    public void enqueueDelete(Long promptId) {
+        promptIndexTaskRepository.save(PromptIndexTask.builder()
+                .promptId(promptId)
+                .action(PromptIndexAction.DELETE)
+                .build());
+    }
+
+    @Scheduled(fixedDelayString = "${app.prompt.index.drain-interval-ms:2000}")
+    public void drain() {
+        for (int i = 0; i < MAX_BATCHES_PER_RUN; i++) {
+            List<PromptIndexTask> tasks = promptIndexTaskRepository.findDue(LocalDateTime.now(), PageRequest.of(0, batchSize));
+            if (tasks.isEmpty()) {
+                break;
+            }
+
+            processBatch(tasks);
+
+            if (tasks.size() < batchSize) {
+                break;
+            }
+        }
+
+        int exhausted = promptIndexTaskRepository.deleteExhausted(maxAttempts);
+        if (exhausted > 0) {
+            log.error("벡터 색인 재시도 한도 초과로 {}건 포기", exhausted);
+        }
+
+        LocalDateTime oldest = promptIndexTaskRepository.findOldestCreatedAt();
+        pending.set(promptIndexTaskRepository.count());
+        lagSeconds.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toSeconds()));
+    }
+
+    private void processBatch(List<PromptIndexTask> tasks) {
+        // id 순으로 정렬돼 있으므로 같은 프롬프트는 마지막 이벤트가 남는다
+        Map<Long, PromptIndexAction> latest = new LinkedHashMap<>();
+        Map<Long, List<PromptIndexTask>> tasksByPromptId = new HashMap<>();
+        for (PromptIndexTask task : tasks) {
+            latest.put(task.getPromptId(), task.getAction());
+            tasksByPromptId.computeIfAbsent(task.getPromptId(), id -> new ArrayList<>()).add(task);
+        }
+
+        try {
+            apply(latest);
+            promptIndexTaskRepository.deleteAllByIdInBatch(tasks.stream().map(PromptIndexTask::getId).toList());
+            return;
+        } catch (Exception e) {
+            log.warn("벡터 일괄 색인 실패 ({}건), 프롬프트별로 다시 시도: {}", latest.size(), e.getMessage());
+        }
+
+        List<Long> doneIds = new ArrayList<>();
+        Map<Integer, List<Long>> retryIdsByAttempts = new HashMap<>();
+        latest.forEach((promptId, action) -> {
+            List<PromptIndexTask> promptTasks = tasksByPromptId.get(promptId);
+            try {
+                apply(Map.of(promptId, action));
+                promptTasks.forEach(task -> doneIds.add(task.getId()));
+            } catch (Exception e) {
+                log.warn("벡터 색인 실패: promptId={} ({}), 이후 재시도: {}", promptId, action, e.getMessage());
+                promptTasks.forEach(task -> retryIdsByAttempts
+                        .computeIfAbsent(task.getAttempts(), attempts -> new ArrayList<>()).add(task.getId()));
+            }
+        });
+
+        promptIndexTaskRepository.deleteAllByIdInBatch(doneIds);
+        // 10초, 20초, 40초 ... 최대 1시간
+        retryIdsByAttempts.forEach((attempts, ids) -> promptIndexTaskRepository.postpone(ids,
+                LocalDateTime.now().plusSeconds(Math.min(3600, 10L << Math.min(attempts, 20)))));
+    }
+
+    // INDEX는 현재 프롬프트가 공개 상태일 때만 upsert, 아니면 DELETE와 같이 벡터 삭제
+    private void apply(Map<Long, PromptIndexAction> actions) {
+        List<Long> indexIds = new ArrayList<>();
+        List<Long> deleteIds = new ArrayList<>();
+        actions.forEach((promptId, action) ->
+                (action == PromptIndexAction.INDEX ? indexIds : deleteIds).add(promptId));
+
+        List<Prompt> prompts = new ArrayList<>();
+        if (!indexIds.isEmpty()) {
+            Collection<Long> missing = new ArrayList<>(indexIds);
+            for (Prompt prompt : promptRepository.findAllById(indexIds)) {
+                missing.remove(prompt.getId());
+                if (prompt.isVisible()) {
+                    prompts.add(prompt);
+                } else {
+                    deleteIds.add(prompt.getId());
+                }
+            }
+            deleteIds.addAll(missing);
+        }
+
+        promptIndexService.indexPrompts(prompts);
+        promptIndexService.deletePrompts(deleteIds);
+    }
+}
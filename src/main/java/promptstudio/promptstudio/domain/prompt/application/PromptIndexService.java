@@ -25,7 +25,25 @@ public class PromptIndexService {
     }
 
 
-    public void indexPrompt(Prompt prompt) {
+    /**
+     * 여러 프롬프트를 한 번에 색인
+     * VectorStore.add가 문서 텍스트를 묶어 임베딩을 요청하고(BatchingStrategy) Qdrant에도 한 번에 upsert한다.
+     */
+    public void indexPrompts(List<Prompt> prompts) {
+        if (prompts.isEmpty()) {
+            return;
+        }
+        vectorStore.add(prompts.stream().map(this::toDocument).toList());
+    }
+
+    public void deletePrompts(List<Long> promptIds) {
+        if (promptIds.isEmpty()) {
+            return;
+        }
+        vectorStore.delete(promptIds.stream().map(this::stableId).toList());
+    }
+
+    private Document toDocument(Prompt prompt) {
 
         String embeddingText = """
                 [TITLE]
@@ -47,17 +65,10 @@ public class PromptIndexService {
         metadata.put("memberId", prompt.getMember().getId());
         metadata.put("category", prompt.getCategory());
 
-        Document doc = Document.builder()
+        return Document.builder()
                 .id(stableId(prompt.getId()))
                 .text(embeddingText)
                 .metadata(metadata)
                 .build();
-
-        vectorStore.add(List.of(doc));
-    }
-
-    public void deletePrompt(Long promptId) {
-        vectorStore.delete(List.of(stableId(promptId)));
     }
 }
-
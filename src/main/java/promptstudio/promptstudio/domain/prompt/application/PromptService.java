@@ -8,17 +8,17 @@ import java.util.List;
 
 public interface PromptService {
     Long createPrompt(Long memberId, PromptCreateRequest request, MultipartFile file);
-    List<PromptCardNewsResponse> getAllPrompts(Long memberId, String category, String sortBy);
+    PromptCardPageResponse getAllPrompts(Long memberId, String category, String sortBy, String cursor, Integer size);
     List<PromptCardNewsResponse> getHotPrompts(Long memberId, String category);
-    List<PromptCardNewsResponse> getLikedPrompts(Long memberId, String category);
-    List<PromptCardNewsResponse> getMyPrompts(Long memberId, String category, String visibility);
+    PromptCardPageResponse getLikedPrompts(Long memberId, String category, String cursor, Integer size);
+    PromptCardPageResponse getMyPrompts(Long memberId, String category, String visibility, String cursor, Integer size);
     PromptResponse getPromptDetail(Long memberId, Long promptId);
-    List<PromptCardNewsResponse> searchPrompts(Long memberId, String category, String query);
+    List<PromptCardNewsResponse> searchPrompts(Long memberId, String category, String query, Integer page, Integer size);
     List<PromptCardNewsResponse> getViewedPrompts(Long memberId);
     PromptCopyResponse copyPrompt(Long promptId);
     PromptUpdateResponse updatePrompt(Long memberId, Long promptId, PromptUpdateRequest request, MultipartFile file);
     void deletePrompt(Long memberId, Long promptId);
 
-    List<PromptCardNewsResponse> searchLikedPrompts(Long memberId, String category, String query);
-    List<PromptCardNewsResponse> searchMyPrompts(Long memberId, String category, String visibility, String query);
+    PromptCardPageResponse searchLikedPrompts(Long memberId, String category, String query, String cursor, Integer size);
+    PromptCardPageResponse searchMyPrompts(Long memberId, String category, String visibility, String query, String cursor, Integer size);
 }
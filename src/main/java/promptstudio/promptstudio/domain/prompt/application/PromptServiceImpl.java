@@ -2,15 +2,13 @@ package promptstudio.promptstudio.domain.prompt.application;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.ai.document.Document;
-import org.springframework.ai.vectorstore.SearchRequest;
-import org.springframework.ai.vectorstore.VectorStore;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import promptstudio.promptstudio.domain.likes.application.LikeCountBuffer;
 import promptstudio.promptstudio.domain.likes.domain.repository.LikesRepository;
 import promptstudio.promptstudio.domain.member.domain.entity.Member;
 import promptstudio.promptstudio.domain.member.domain.repository.MemberRepository;
@@ -19,15 +17,14 @@ import promptstudio.promptstudio.domain.prompt.domain.repository.PromptRepositor
 import promptstudio.promptstudio.domain.prompt.dto.*;
 import promptstudio.promptstudio.domain.promptplaceholder.domain.entity.PromptPlaceholder;
 import promptstudio.promptstudio.domain.promptplaceholder.domain.repository.PromptPlaceholderRepository;
-import promptstudio.promptstudio.domain.viewrecord.domain.entity.ViewRecord;
-import promptstudio.promptstudio.domain.viewrecord.domain.repository.ViewRecordRepository;
 import promptstudio.promptstudio.global.exception.http.BadRequestException;
 import promptstudio.promptstudio.global.exception.http.ForbiddenException;
 import promptstudio.promptstudio.global.exception.http.NotFoundException;
-import promptstudio.promptstudio.global.s3.service.S3StorageService;
+import promptstudio.promptstudio.global.s3.service.ImageVariantService;
+import promptstudio.promptstudio.global.s3.service.ContentAddressedStorage;
 
-import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -37,14 +34,22 @@ import java.util.regex.Pattern;
 @Slf4j
 public class PromptServiceImpl implements PromptService {
 
-    private final S3StorageService s3StorageService;
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 50;
+
+    private final ContentAddressedStorage contentAddressedStorage;
+    private final ImageVariantService imageVariantService;
     private final PromptRepository promptRepository;
     private final MemberRepository memberRepository;
-    private final PromptIndexService promptIndexService;
+    private final PromptIndexQueue promptIndexQueue;
     private final PromptPlaceholderRepository promptPlaceholderRepository;
     private final LikesRepository likesRepository;
-    private final VectorStore vectorStore;
-    private final ViewRecordRepository viewRecordRepository;
+    private final LikeCountBuffer likeCountBuffer;
+    private final PromptViewBuffer promptViewBuffer;
+    private final PromptFeedCache promptFeedCache;
+    private final HotPromptRanking hotPromptRanking;
+    private final PromptFullTextSearch promptFullTextSearch;
+    private final PromptHybridSearch promptHybridSearch;
 
     @Override
     public Long createPrompt(Long memberId, PromptCreateRequest request, MultipartFile file) {
@@ -54,10 +59,7 @@ public class PromptServiceImpl implements PromptService {
 
         String imageUrl = null;
         if (file != null && !file.isEmpty()) {
-            imageUrl = s3StorageService.uploadImage(
-                    file,
-                    String.format("prompt/%d", memberId)
-            );
+            imageUrl = contentAddressedStorage.storeUpload(file);
         }
 
         String result = request.getResult();
@@ -82,6 +84,7 @@ public class PromptServiceImpl implements PromptService {
                 .build();
 
         Prompt saved = promptRepository.save(prompt);
+        requestImageVariants(saved.getId(), imageUrl);
 
         //placeholder 추출
         Set<String> placeholders = extractPlaceholders(request.getContent());
@@ -95,170 +98,121 @@ public class PromptServiceImpl implements PromptService {
         }
 
 
-        //vectorDB embedding
+        //vectorDB embedding (커밋 후 PromptIndexQueue 워커가 일괄 색인)
         if (saved.isVisible()) {
-            promptIndexService.indexPrompt(saved);
+            promptIndexQueue.enqueueIndex(saved.getId());
         }
 
+        promptFeedCache.markPromptDirtyAfterCommit(saved.getCategory());
+
         return saved.getId();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<PromptCardNewsResponse> getAllPrompts(Long memberId, String category, String sortBy) {
+    public PromptCardPageResponse getAllPrompts(Long memberId, String category, String sortBy,
+                                                String cursor, Integer size) {
 
-        if (memberId == null) {
-            return switch (sortBy) {
-                case "like" -> promptRepository.findAllOrderByLikeCountDescGuestWithCategory(category);
-                case "desc" -> promptRepository.findAllOrderByCreatedAtDescGuestWithCategory(category);
-                default -> throw new BadRequestException("지원하지 않는 정렬 타입: " + sortBy);
-            };
-        }
+        PromptFeedCache.FeedSort sort = switch (sortBy) {
+            case "like" -> PromptFeedCache.FeedSort.LIKE;
+            case "desc" -> PromptFeedCache.FeedSort.LATEST;
+            default -> throw new BadRequestException("지원하지 않는 정렬 타입: " + sortBy);
+        };
 
-        if (!memberRepository.existsById(memberId)) {
+        if (memberId != null && !memberRepository.existsById(memberId)) {
             throw new NotFoundException("멤버가 존재하지 않습니다.");
         }
 
-        return switch (sortBy) {
-            case "like" -> promptRepository.findAllOrderByLikeCountDescWithCategory(memberId, category);
-            case "desc" -> promptRepository.findAllOrderByCreatedAtDescWithCategory(memberId, category);
-            default -> throw new BadRequestException("지원하지 않는 정렬 타입: " + sortBy);
-        };
+        int limit = pageSize(size);
+        List<PromptCardNewsResponse> rows =
+                promptFeedCache.page(category, sort, PromptCursor.decode(cursor), limit + 1);
+
+        PromptCardPageResponse page = toPage(rows, limit,
+                sort == PromptFeedCache.FeedSort.LIKE ? PromptCursor::byLikeCount : PromptCursor::byCreatedAt);
+        return new PromptCardPageResponse(withLiked(memberId, page.getPrompts()), page.getNextCursor(), page.isHasNext());
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<PromptCardNewsResponse> getHotPrompts(Long memberId, String category) {
 
-        LocalDateTime since = LocalDateTime.now().minusDays(7);
-
-        PageRequest top3PageRequest = PageRequest.of(0, 3);
-
-        if (memberId == null) {
-            Page<PromptCardNewsResponse> pageResult =
-                    promptRepository.findWeeklyTopPromptsGuestWithCategory(
-                            since,
-                            category,
-                            top3PageRequest
-                    );
-
-            return pageResult.getContent();
-        }
-
-        if (!memberRepository.existsById(memberId)) {
+        if (memberId != null && !memberRepository.existsById(memberId)) {
             throw new NotFoundException("멤버가 존재하지 않습니다.");
         }
 
-        Page<PromptCardNewsResponse> pageResult =
-                promptRepository.findWeeklyTopPromptsWithCategory(memberId, since, category, top3PageRequest);
-
-        return pageResult.getContent();
+        return withLiked(memberId, promptFeedCache.getHot(category));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<PromptCardNewsResponse> getLikedPrompts(Long memberId, String category) {
-
-        if (!memberRepository.existsById(memberId)) {
-            throw new NotFoundException("멤버가 존재하지 않습니다.");
-        }
-
-        return promptRepository.findLikedPromptsByMemberId(memberId, category);
+    public PromptCardPageResponse getLikedPrompts(Long memberId, String category, String cursor, Integer size) {
+        return searchLikedPrompts(memberId, category, null, cursor, size);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<PromptCardNewsResponse> getMyPrompts(Long memberId, String category, String visibility) {
-
-        if (!memberRepository.existsById(memberId)) {
-            throw new NotFoundException("멤버가 존재하지 않습니다.");
-        }
-
-        Boolean visible = switch (visibility) {
-            case "all" -> null;
-            case "public" -> true;
-            case "private" -> false;
-            default -> throw new BadRequestException("잘못된 visibility 값: " + visibility);
-        };
-
-        return promptRepository.findMyPromptsWithCategory(memberId, category, visible);
+    public PromptCardPageResponse getMyPrompts(Long memberId, String category, String visibility,
+                                               String cursor, Integer size) {
+        return searchMyPrompts(memberId, category, visibility, null, cursor, size);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PromptResponse getPromptDetail(Long memberId, Long promptId) {
 
         Prompt prompt = promptRepository.findById(promptId).orElseThrow(
                 () -> new NotFoundException("프롬프트가 존재하지 않습니다.")
         );
 
-        if (memberId != null) {
-            Member member = memberRepository.findById(memberId).orElseThrow(
-                    () -> new NotFoundException("멤버가 존재하지 않습니다."));
-
-            int updated = viewRecordRepository.touchIfExists(memberId, promptId);
-
-            if (updated == 0) {
-                ViewRecord record = ViewRecord.builder()
-                        .member(member)
-                        .prompt(prompt)
-                        .build();
-                viewRecordRepository.save(record);
-            }
-
+        if (memberId != null && !memberRepository.existsById(memberId)) {
+            throw new NotFoundException("멤버가 존재하지 않습니다.");
         }
 
-        promptRepository.increaseViewCount(promptId);
+        // 조회수 / 최근 본 기록은 PromptViewBuffer가 모아서 일괄 반영
+        promptViewBuffer.record(memberId, promptId);
+        long viewCount = prompt.getViewCount() + promptViewBuffer.pendingViews(promptId);
 
-        long likeCount = likesRepository.countByPromptId(promptId);
+        long likeCount = prompt.getLikeCount() + likeCountBuffer.pending(promptId);
 
         if (memberId == null) {
-            return toPromptResponse(prompt, likeCount, false);
+            return toPromptResponse(prompt, viewCount, likeCount, false);
         }
 
         boolean liked = likesRepository.existsByPromptIdAndMemberId(promptId, memberId);
 
-        return toPromptResponse(prompt, likeCount, liked);
+        return toPromptResponse(prompt, viewCount, likeCount, liked);
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public List<PromptCardNewsResponse> searchPrompts(Long memberId, String category, String query) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)  // 두 검색 경로가 도는 동안 커넥션을 잡고 있지 않도록
+    public List<PromptCardNewsResponse> searchPrompts(Long memberId, String category, String query, Integer page, Integer size) {
 
         if (memberId != null && !memberRepository.existsById(memberId)) {
             throw new NotFoundException("멤버가 존재하지 않습니다.");
         }
-
-        SearchRequest.Builder builder = SearchRequest.builder()
-                .query(query)
-                .topK(100);
-
-        if (category != null && !"전체".equals(category)) {
-            builder.filterExpression("category == '" + category + "'");
+        if (page != null && page < 0) {
+            throw new BadRequestException("page는 0 이상이어야 합니다.");
         }
 
-        SearchRequest request = builder.build();
-
-        List<Document> docs = vectorStore.similaritySearch(request);
+        int limit = pageSize(size);
+        int offset = (page == null ? 0 : page) * limit;
 
-        List<Long> rankedIds = docs.stream()
-                .map(doc -> toLong(doc.getMetadata().get("promptId")))
-                .filter(id -> id != null)
-                .distinct()
-                .toList();
-
-        if (rankedIds.isEmpty()) {
+        // 합친 순위는 페이지와 무관하게 같은 후보 집합에서 만들고, 이번 페이지 구간만 잘라 카드 조회
+        List<Long> rankedIds = promptHybridSearch.search(category, query);
+        if (rankedIds.size() <= offset) {
             return List.of();
         }
+        List<Long> pageIds = rankedIds.subList(offset, Math.min(offset + limit, rankedIds.size()));
 
         List<PromptCardNewsResponse> rawCards =
-                promptRepository.findPromptsByIdsWithCategory(rankedIds, memberId, category);
+                promptRepository.findPromptsByIdsWithCategory(pageIds, memberId, category);
 
         Map<Long, PromptCardNewsResponse> cardById = new java.util.HashMap<>();
         for (PromptCardNewsResponse card : rawCards) {
             cardById.put(card.getPromptId(), card);
         }
 
-        return rankedIds.stream()
+        return pageIds.stream()
                 .map(cardById::get)
                 .filter(card -> card != null)
                 .toList();
@@ -292,16 +246,13 @@ public class PromptServiceImpl implements PromptService {
         return response;
     }
 
-    private Long toLong(Object raw) {
-        if (raw == null) return null;
-        if (raw instanceof Long l) return l;
-        if (raw instanceof Integer i) return i.longValue();
-        if (raw instanceof String s) return Long.parseLong(s);
-        throw new IllegalArgumentException("Unexpected ID type: " + raw.getClass());
+    // 카드용 썸네일/상세용 중간 크기 이미지 비동기 생성
+    private void requestImageVariants(Long promptId, String imageUrl) {
+        imageVariantService.requestAfterCommit(imageUrl, variants ->
+                promptRepository.updateImageVariants(promptId, imageUrl, variants.thumbnailUrl(), variants.mediumUrl()));
     }
 
-
-    private PromptResponse toPromptResponse(Prompt prompt, long likeCount, boolean liked) {
+    private PromptResponse toPromptResponse(Prompt prompt, long viewCount, long likeCount, boolean liked) {
         Member member = prompt.getMember();
         PromptResponse dto = new PromptResponse();
 
@@ -316,12 +267,13 @@ public class PromptServiceImpl implements PromptService {
         dto.setVisible(prompt.isVisible());
         dto.setContent(prompt.getContent());
         dto.setImageUrl(prompt.getImageUrl());
+        dto.setMediumImageUrl(prompt.getMediumUrl() != null ? prompt.getMediumUrl() : prompt.getImageUrl());
         dto.setResult(prompt.getResult());
         dto.setImageRequired(prompt.isImageRequired());
         dto.setLikeCount(likeCount);
         dto.setLiked(liked);
         dto.setCopyCount(prompt.getCopyCount());
-        dto.setViewCount(prompt.getViewCount() + 1);
+        dto.setViewCount(viewCount);
         dto.setCreatedAt(prompt.getCreatedAt());
 
         return dto;
@@ -358,6 +310,7 @@ public class PromptServiceImpl implements PromptService {
         }
 
         boolean wasVisible = prompt.isVisible();
+        String oldCategory = prompt.getCategory();
 
         boolean removeImage = Boolean.TRUE.equals(request.getRemoveImage());
         boolean hasNewFile = (file != null && !file.isEmpty());
@@ -370,20 +323,18 @@ public class PromptServiceImpl implements PromptService {
 
         if (removeImage) {
             if (oldUrl != null && !oldUrl.isBlank()) {
-                s3StorageService.deleteImage(oldUrl);
+                contentAddressedStorage.release(oldUrl);
             }
             prompt.updateImageUrl(null);
 
         } else if (hasNewFile) {
-            String newUrl = s3StorageService.uploadImage(
-                    file,
-                    String.format("prompt/%d", memberId)
-            );
+            String newUrl = contentAddressedStorage.storeUpload(file);
 
             prompt.updateImageUrl(newUrl);
+            requestImageVariants(prompt.getId(), newUrl);
 
             if (oldUrl != null && !oldUrl.isBlank()) {
-                s3StorageService.deleteImage(oldUrl);
+                contentAddressedStorage.release(oldUrl);
             }
         }
 
@@ -392,10 +343,10 @@ public class PromptServiceImpl implements PromptService {
         boolean isVisible = prompt.isVisible();
 
         if (isVisible) {
-            promptIndexService.indexPrompt(prompt);
+            promptIndexQueue.enqueueIndex(promptId);
         }
         else if (wasVisible) {
-            promptIndexService.deletePrompt(promptId);
+            promptIndexQueue.enqueueDelete(promptId);
         }
 
         if (request.getContent() != null) {
@@ -424,6 +375,9 @@ public class PromptServiceImpl implements PromptService {
         response.setImageRequired(prompt.isImageRequired());
         response.setAiEnvironment(prompt.getAiEnvironment());
 
+        hotPromptRanking.updatePromptAfterCommit(prompt.getId(), prompt.getCategory(), prompt.isVisible());
+        promptFeedCache.markPromptDirtyAfterCommit(oldCategory, prompt.getCategory());
+
         return response;
     }
 
@@ -442,42 +396,59 @@ public class PromptServiceImpl implements PromptService {
         String imageUrl = prompt.getImageUrl();
 
         promptRepository.delete(prompt);
+        hotPromptRanking.removePromptAfterCommit(promptId);
+        promptFeedCache.markPromptDirtyAfterCommit(prompt.getCategory());
 
         if (wasVisible) {
-            promptIndexService.deletePrompt(promptId);
+            promptIndexQueue.enqueueDelete(promptId);
         }
 
         if (imageUrl != null && !imageUrl.isBlank()) {
-            s3StorageService.deleteImage(imageUrl);
+            contentAddressedStorage.release(imageUrl);
         }
 
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<PromptCardNewsResponse> searchLikedPrompts(
+    public PromptCardPageResponse searchLikedPrompts(
             Long memberId,
             String category,
-            String query
+            String query,
+            String cursor,
+            Integer size
     ) {
         if (!memberRepository.existsById(memberId)) {
             throw new NotFoundException("멤버가 존재하지 않습니다.");
         }
 
+        PromptCursor after = PromptCursor.decode(cursor);
+        int limit = pageSize(size);
+        PageRequest page = PageRequest.of(0, limit + 1);
+
+        List<PromptCardNewsResponse> rows;
         if (query == null || query.isBlank()) {
-            return promptRepository.findLikedPromptsByMemberId(memberId, category);
+            rows = promptRepository.findLikedPromptsByMemberId(memberId, category, after.time(), after.id(), page);
+        } else {
+            rows = promptFullTextSearch.plan(query)
+                    .map(match -> promptRepository.searchLikedPromptsByMemberIdFullText(
+                            memberId, category, match, after.time(), after.id(), page))
+                    .orElseGet(() -> promptRepository.searchLikedPromptsByMemberId(
+                            memberId, category, query, after.time(), after.id(), page));
         }
 
-        return promptRepository.searchLikedPromptsByMemberId(memberId, category, query);
+        return toPage(rows, limit, PromptCursor::byLikedAt);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<PromptCardNewsResponse> searchMyPrompts(
+    public PromptCardPageResponse searchMyPrompts(
             Long memberId,
             String category,
             String visibility,
-            String query
+            String query,
+            String cursor,
+            Integer size
     ) {
         if (!memberRepository.existsById(memberId)) {
             throw new NotFoundException("멤버가 존재하지 않습니다.");
@@ -490,11 +461,50 @@ public class PromptServiceImpl implements PromptService {
             default -> throw new BadRequestException("잘못된 visibility 값: " + visibility);
         };
 
+        PromptCursor after = PromptCursor.decode(cursor);
+        int limit = pageSize(size);
+        PageRequest page = PageRequest.of(0, limit + 1);
+
+        List<PromptCardNewsResponse> rows;
         if (query == null || query.isBlank()) {
-            return promptRepository.findMyPromptsWithCategory(memberId, category, visible);
+            rows = promptRepository.findMyPromptsWithCategory(memberId, category, visible, after.time(), after.id(), page);
+        } else {
+            rows = promptFullTextSearch.plan(query)
+                    .map(match -> promptRepository.searchMyPromptsWithCategoryFullText(
+                            memberId, category, visible, match, after.time(), after.id(), page))
+                    .orElseGet(() -> promptRepository.searchMyPromptsWithCategory(
+                            memberId, category, visible, query, after.time(), after.id(), page));
         }
 
-        return promptRepository.searchMyPromptsWithCategory(memberId, category, visible, query);
+        return toPage(rows, limit, PromptCursor::byCreatedAt);
     }
 
+    // 스냅샷은 게스트 기준이므로 로그인 사용자는 이번 페이지 카드의 liked만 덮어쓴다
+    private List<PromptCardNewsResponse> withLiked(Long memberId, List<PromptCardNewsResponse> cards) {
+        if (memberId == null || cards.isEmpty()) {
+            return cards;
+        }
+        List<Long> promptIds = cards.stream().map(PromptCardNewsResponse::getPromptId).toList();
+        return promptFeedCache.withLiked(cards, new HashSet<>(likesRepository.findLikedPromptIds(memberId, promptIds)));
+    }
+
+    private int pageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("size는 1 이상 " + MAX_PAGE_SIZE + " 이하여야 합니다.");
+        }
+        return size;
+    }
+
+    // limit + 1개를 조회해서 다음 페이지 존재 여부 판단
+    private PromptCardPageResponse toPage(List<PromptCardNewsResponse> rows, int limit,
+                                          Function<PromptCardNewsResponse, PromptCursor> cursorOf) {
+        if (rows.size() <= limit) {
+            return new PromptCardPageResponse(rows, null, false);
+        }
+        List<PromptCardNewsResponse> prompts = rows.subList(0, limit);
+        return new PromptCardPageResponse(prompts, cursorOf.apply(prompts.get(limit - 1)).encode(), true);
+    }
 }
@@ -0,0 +1,188 @@
+package promptstudio.promptstudio.domain.prompt.application;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 상세 조회 시 조회수 / 최근 본 기록(ViewRecord) write-behind 버퍼
+ * - 요청 스레드는 맵에 누적만 하고 DB는 건드리지 않는다
+ * - 주기마다 view_count는 UPDATE ... CASE 한 번, view_record는 INSERT ... ON DUPLICATE KEY UPDATE 한 번으로 반영
+ * 조회수/최근 본 목록은 최대 flush 주기만큼 늦게 보일 수 있다. (prompt.views.buffer.lag)
+ */
+@Slf4j
+@Component
+public class PromptViewBuffer {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    // promptId -> 누적 조회수
+    private final Map<Long, Long> views = new ConcurrentHashMap<>();
+    // (memberId, promptId) -> 마지막 조회 시각
+    private final Map<ViewKey, LocalDateTime> touches = new ConcurrentHashMap<>();
+    // 반영 안 된 가장 오래된 기록 시각 (0이면 비어 있음)
+    private final AtomicLong oldestPendingAt = new AtomicLong();
+    // 스케줄러와 종료 훅의 flush가 겹치지 않도록 (virtual thread pinning을 피하려고 synchronized 대신 사용)
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public PromptViewBuffer(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.prompt.views.batch-size:500}") int batchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        meterRegistry.gauge("prompt.views.buffer.pending", this, buffer -> buffer.views.size() + buffer.touches.size());
+        meterRegistry.gauge("prompt.views.buffer.lag", this, PromptViewBuffer::lagSeconds);
+    }
+
+    public void record(Long memberId, Long promptId) {
+        views.merge(promptId, 1L, Long::sum);
+        if (memberId != null) {
+            touches.merge(new ViewKey(memberId, promptId), LocalDateTime.now(), (a, b) -> a.isAfter(b) ? a : b);
+        }
+        oldestPendingAt.compareAndSet(0, System.currentTimeMillis());
+    }
+
+    // 아직 DB에 반영되지 않은 조회수
+    public long pendingViews(Long promptId) {
+        return views.getOrDefault(promptId, 0L);
+    }
+
+    @Scheduled(fixedDelayString = "${app.prompt.views.flush-interval-ms:5000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            long since = oldestPendingAt.getAndSet(0);
+            if (since != 0) {
+                drain(since);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void drain(long since) {
+        // remove 시점 이후 들어온 기록은 새 엔트리로 쌓이므로 유실 없음
+        Map<Long, Long> viewBatch = new HashMap<>();
+        for (Long promptId : views.keySet()) {
+            Long count = views.remove(promptId);
+            if (count != null) {
+                viewBatch.put(promptId, count);
+            }
+        }
+        Map<ViewKey, LocalDateTime> touchBatch = new HashMap<>();
+        for (ViewKey key : touches.keySet()) {
+            LocalDateTime viewedAt = touches.remove(key);
+            if (viewedAt != null) {
+                touchBatch.put(key, viewedAt);
+            }
+        }
+
+        if (!flushViews(viewBatch)) {
+            oldestPendingAt.compareAndSet(0, since);
+        }
+        flushTouches(touchBatch);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    // 청크마다 따로 커밋되므로 실패한 청크만 버퍼로 되돌린다 (이미 반영된 청크를 다시 더하지 않도록)
+    private boolean flushViews(Map<Long, Long> batch) {
+        boolean flushed = true;
+        List<Map.Entry<Long, Long>> entries = new ArrayList<>(batch.entrySet());
+        for (int from = 0; from < entries.size(); from += batchSize) {
+            List<Map.Entry<Long, Long>> chunk = entries.subList(from, Math.min(from + batchSize, entries.size()));
+            try {
+                updateViews(chunk);
+            } catch (DataAccessException e) {
+                log.warn("조회수 flush 실패, 다음 주기에 재시도: {}건", chunk.size(), e);
+                chunk.forEach(entry -> views.merge(entry.getKey(), entry.getValue(), Long::sum));
+                flushed = false;
+            }
+        }
+        return flushed;
+    }
+
+    private void updateViews(List<Map.Entry<Long, Long>> chunk) {
+        StringBuilder sql = new StringBuilder("UPDATE prompt SET view_count = view_count + CASE id");
+        List<Object> args = new ArrayList<>(chunk.size() * 3);
+        for (Map.Entry<Long, Long> entry : chunk) {
+            sql.append(" WHEN ? THEN ?");
+            args.add(entry.getKey());
+            args.add(entry.getValue());
+        }
+        sql.append(" ELSE 0 END WHERE id IN (")
+                .append(String.join(",", Collections.nCopies(chunk.size(), "?")))
+                .append(")");
+        chunk.forEach(entry -> args.add(entry.getKey()));
+
+        jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    private void flushTouches(Map<ViewKey, LocalDateTime> batch) {
+        List<Map.Entry<ViewKey, LocalDateTime>> entries = new ArrayList<>(batch.entrySet());
+        for (int from = 0; from < entries.size(); from += batchSize) {
+            List<Map.Entry<ViewKey, LocalDateTime>> chunk = entries.subList(from, Math.min(from + batchSize, entries.size()));
+            try {
+                upsertTouches(chunk);
+            } catch (DataAccessException e) {
+                // 그 사이 탈퇴/삭제된 멤버·프롬프트가 섞이면 FK 위반 → 건별로 다시 넣고 실패한 건은 버림
+                log.warn("최근 본 기록 일괄 반영 실패, 건별 재시도: {}건", chunk.size(), e);
+                for (Map.Entry<ViewKey, LocalDateTime> entry : chunk) {
+                    try {
+                        upsertTouches(List.of(entry));
+                    } catch (DataAccessException ignored) {
+                        log.debug("최근 본 기록 반영 생략: {}", entry.getKey());
+                    }
+                }
+            }
+        }
+    }
+
+    private void upsertTouches(List<Map.Entry<ViewKey, LocalDateTime>> chunk) {
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO view_record (member_id, prompt_id, created_at, updated_at) VALUES ");
+        List<Object> args = new ArrayList<>(chunk.size() * 4);
+        for (int i = 0; i < chunk.size(); i++) {
+            Map.Entry<ViewKey, LocalDateTime> entry = chunk.get(i);
+            Timestamp viewedAt = Timestamp.valueOf(entry.getValue());
+            sql.append(i == 0 ? "(?, ?, ?, ?)" : ", (?, ?, ?, ?)");
+            args.add(entry.getKey().memberId());
+            args.add(entry.getKey().promptId());
+            args.add(viewedAt);
+            args.add(viewedAt);
+        }
+        sql.append(" ON DUPLICATE KEY UPDATE updated_at = GREATEST(updated_at, VALUES(updated_at))");
+
+        jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    private double lagSeconds() {
+        long since = oldestPendingAt.get();
+        return since == 0 ? 0 : (System.currentTimeMillis() - since) / 1000.0;
+    }
+
+    private record ViewKey(Long memberId, Long promptId) {
+    }
+}
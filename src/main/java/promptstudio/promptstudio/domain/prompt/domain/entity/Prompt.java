@@ -5,6 +5,7 @@ import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 import promptstudio.promptstudio.domain.member.domain.entity.Member;
@@ -14,6 +15,11 @@ import promptstudio.promptstudio.global.common.entity.BaseEntity;
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = {
+        @Index(name = "idx_prompt_like_count", columnList = "like_count, created_at"),
+        @Index(name = "idx_prompt_created_at", columnList = "created_at"),
+        @Index(name = "idx_prompt_member_created_at", columnList = "member_id, created_at")
+})
 public class Prompt extends BaseEntity {
 
     @Id
@@ -43,6 +49,13 @@ public class Prompt extends BaseEntity {
     @Column(length = 2048)
     private String imageUrl;
 
+    // 카드/상세용 축소본 (ImageVariantService가 비동기로 채움, 없으면 imageUrl 사용)
+    @Column(length = 2048)
+    private String thumbnailUrl;
+
+    @Column(length = 2048)
+    private String mediumUrl;
+
     @Column(columnDefinition="TEXT")
     private String result;
 
@@ -55,9 +68,16 @@ public class Prompt extends BaseEntity {
     @Column(nullable=false)
     private Integer copyCount;
 
-    @Column(nullable=false)
+    // PromptViewBuffer가 일괄 UPDATE로만 증가시키므로 엔티티 UPDATE에서는 제외
+    @Column(nullable=false, updatable=false)
     private Integer viewCount;
 
+    // likes 테이블의 비정규화 카운터 (토글 시 원자적 UPDATE, 인기 프롬프트는 LikeCountBuffer 경유)
+    // 엔티티 dirty checking UPDATE가 읽어 둔 값으로 덮어쓰지 않도록 카운터 쿼리로만 갱신
+    @Column(nullable=false, updatable=false)
+    @ColumnDefault("0")
+    private long likeCount;
+
     public void updateCopyCount() {
         this.copyCount +=1;
     }
@@ -82,6 +102,8 @@ public class Prompt extends BaseEntity {
 
     public void updateImageUrl(String imageUrl) {
         this.imageUrl = imageUrl;
+        this.thumbnailUrl = null;
+        this.mediumUrl = null;
     }
 
     @Builder
@@ -0,0 +1,6 @@
+package promptstudio.promptstudio.domain.prompt.domain.entity;
+
+public enum PromptIndexAction {
+    INDEX,   // 임베딩 생성 후 upsert (비공개/삭제된 프롬프트면 DELETE로 처리)
+    DELETE   // 벡터 삭제
+}
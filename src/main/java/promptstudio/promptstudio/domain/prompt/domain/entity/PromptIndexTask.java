@@ -0,0 +1,46 @@
+package promptstudio.promptstudio.domain.prompt.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import promptstudio.promptstudio.global.common.entity.BaseEntity;
+
+import java.time.LocalDateTime;
+
+/**
+ * 벡터 색인 대기열 (프롬프트 변경 트랜잭션과 함께 커밋되고 PromptIndexQueue 워커가 일괄 처리)
+ * 프롬프트가 삭제된 뒤에도 남아야 하므로 promptId만 저장한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = @Index(name = "idx_prompt_index_task_next_attempt", columnList = "nextAttemptAt"))
+public class PromptIndexTask extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long promptId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private PromptIndexAction action;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Builder
+    public PromptIndexTask(Long promptId, PromptIndexAction action) {
+        this.promptId = promptId;
+        this.action = action;
+        this.attempts = 0;
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+}
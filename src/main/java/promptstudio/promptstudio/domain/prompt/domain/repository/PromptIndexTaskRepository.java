@@ -0,0 +1,42 @@
+package promptstudio.promptstudio.domain.prompt.domain.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import promptstudio.promptstudio.domain.prompt.domain.entity.PromptIndexTask;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface PromptIndexTaskRepository extends JpaRepository<PromptIndexTask, Long> {
+
+    @Query("""
+        select t from PromptIndexTask t
+        where t.nextAttemptAt <= :now
+        order by t.id
+    """)
+    List<PromptIndexTask> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // 가장 오래 기다린 작업의 등록 시각 (대기열이 비면 null)
+    @Query("select min(t.createdAt) from PromptIndexTask t")
+    LocalDateTime findOldestCreatedAt();
+
+    @Transactional
+    @Modifying
+    @Query("""
+        update PromptIndexTask t
+        set t.attempts = t.attempts + 1,
+            t.nextAttemptAt = :nextAttemptAt
+        where t.id in :ids
+    """)
+    int postpone(@Param("ids") Collection<Long> ids, @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    @Transactional
+    @Modifying
+    @Query("delete from PromptIndexTask t where t.attempts >= :maxAttempts")
+    int deleteExhausted(@Param("maxAttempts") int maxAttempts);
+}
@@ -3,12 +3,12 @@ package promptstudio.promptstudio.domain.prompt.domain.repository;
 import java.time.LocalDateTime;
 import java.util.List;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import promptstudio.promptstudio.domain.prompt.domain.entity.Prompt;
 import promptstudio.promptstudio.domain.prompt.dto.PromptCardNewsResponse;
@@ -23,66 +23,55 @@ public interface PromptRepository extends JpaRepository<Prompt, Long> {
             p.aiEnvironment,
             p.title,
             p.introduction,
-            p.imageUrl,
-            case when max(case when l2.id is not null then 1 else 0 end) = 1
-                 then true else false end,
-            count(l.id)
+            coalesce(p.thumbnailUrl, p.imageUrl),
+            false,
+            p.likeCount,
+            p.createdAt
         )
         from Prompt p
-        left join Likes l
-            on l.prompt.id = p.id
-        left join Likes l2
-            on l2.prompt.id = p.id
-           and l2.member.id = :memberId
         where p.visible = true
-        and (:category = '전체' or p.category = :category)
-        group by p.id,
-                 p.member.id,
-                 p.category,
-                 p.aiEnvironment,
-                 p.title,
-                 p.introduction,
-                 p.imageUrl,
-                 p.createdAt
-        order by count(l.id) desc, p.createdAt desc
+          and (:category = '전체' or p.category = :category)
+          and (p.likeCount < :likeCount
+               or (p.likeCount = :likeCount
+                   and (p.createdAt < :createdAt
+                        or (p.createdAt = :createdAt and p.id < :cursorId))))
+        order by p.likeCount desc, p.createdAt desc, p.id desc
     """)
-    List<PromptCardNewsResponse> findAllOrderByLikeCountDescWithCategory(
-            @Param("memberId") Long memberId,
-            @Param("category") String category
+    List<PromptCardNewsResponse> findFeedOrderByLikeCount(
+            @Param("category") String category,
+            @Param("likeCount") long likeCount,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
     );
 
     @Query("""
-    select new promptstudio.promptstudio.domain.prompt.dto.PromptCardNewsResponse(
-        p.id,
-        p.member.id,
-        p.category,
-        p.aiEnvironment,
-        p.title,
-        p.introduction,
-        p.imageUrl,
-        false,
-        count(l.id)
-    )
-    from Prompt p
-    left join Likes l
-        on l.prompt.id = p.id
-    where p.visible = true
-      and (:category = '전체' or p.category = :category)
-    group by p.id,
-             p.member.id,
-             p.category,
-             p.aiEnvironment,
-             p.title,
-             p.introduction,
-             p.imageUrl,
-             p.createdAt
-    order by count(l.id) desc, p.createdAt desc
+        select new promptstudio.promptstudio.domain.prompt.dto.PromptCardNewsResponse(
+            p.id,
+            p.member.id,
+            p.category,
+            p.aiEnvironment,
+            p.title,
+            p.introduction,
+            coalesce(p.thumbnailUrl, p.imageUrl),
+            false,
+            p.likeCount,
+            p.createdAt
+        )
+        from Prompt p
+        where p.visible = true
+          and (:category = '전체' or p.category = :category)
+          and (p.createdAt < :createdAt
+               or (p.createdAt = :createdAt and p.id < :cursorId))
+        order by p.createdAt desc, p.id desc
     """)
-    List<PromptCardNewsResponse> findAllOrderByLikeCountDescGuestWithCategory(
-            @Param("category") String category
+    List<PromptCardNewsResponse> findFeedOrderByCreatedAt(
+            @Param("category") String category,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
     );
 
-
     @Query("""
         select new promptstudio.promptstudio.domain.prompt.dto.PromptCardNewsResponse(
             p.id,
@@ -91,34 +80,26 @@ public interface PromptRepository extends JpaRepository<Prompt, Long> {
             p.aiEnvironment,
             p.title,
             p.introduction,
-            p.imageUrl,
-            case when max(case when l2.id is not null then 1 else 0 end) = 1
-                 then true else false end,
-            count(lThisWeek.id)
+            coalesce(p.thumbnailUrl, p.imageUrl),
+            true,
+            p.likeCount,
+            p.createdAt,
+            lMine.createdAt
         )
-        from Prompt p
-        left join Likes lThisWeek
-            on lThisWeek.prompt.id = p.id
-           and lThisWeek.createdAt >= :since
-        left join Likes l2
-            on l2.prompt.id = p.id
-           and l2.member.id = :memberId
-        where p.visible = true
+        from Likes lMine
+        join lMine.prompt p
+        where lMine.member.id = :memberId
+          and p.visible = true
           and (:category = '전체' or p.category = :category)
-        group by p.id,
-                 p.member.id,
-                 p.category,
-                 p.aiEnvironment,
-                 p.title,
-                 p.introduction,
-                 p.imageUrl,
-                 p.createdAt
-        order by count(lThisWeek.id) desc, p.createdAt desc
+          and (lMine.createdAt < :likedAt
+               or (lMine.createdAt = :likedAt and p.id < :cursorId))
+        order by lMine.createdAt desc, p.id desc
     """)
-    Page<PromptCardNewsResponse> findWeeklyTopPromptsWithCategory(
+    List<PromptCardNewsResponse> findLikedPromptsByMemberId(
             @Param("memberId") Long memberId,
-            @Param("since") LocalDateTime since,
             @Param("category") String category,
+            @Param("likedAt") LocalDateTime likedAt,
+            @Param("cursorId") Long cursorId,
             Pageable pageable
     );
 
@@ -130,34 +111,66 @@ public interface PromptRepository extends JpaRepository<Prompt, Long> {
             p.aiEnvironment,
             p.title,
             p.introduction,
-            p.imageUrl,
-            case when max(case when l2.id is not null then 1 else 0 end) = 1
-                 then true else false end,
-            count(l.id)
+            coalesce(p.thumbnailUrl, p.imageUrl),
+            case when exists (
+                select 1 from Likes lm
+                where lm.prompt.id = p.id
+                  and lm.member.id = :memberId
+            ) then true else false end,
+            p.likeCount,
+            p.createdAt
         )
         from Prompt p
-        left join Likes l
-            on l.prompt.id = p.id
-        left join Likes l2
-            on l2.prompt.id = p.id
-           and l2.member.id = :memberId
-        where p.visible = true
+        where p.member.id = :memberId
+          and (:visible is null or p.visible = :visible)
           and (:category = '전체' or p.category = :category)
-        group by p.id,
-                 p.member.id,
-                 p.category,
-                 p.aiEnvironment,
-                 p.title,
-                 p.introduction,
-                 p.imageUrl,
-                 p.createdAt
-        order by p.createdAt desc
+          and (p.createdAt < :createdAt
+               or (p.createdAt = :createdAt and p.id < :cursorId))
+        order by p.createdAt desc, p.id desc
     """)
-    List<PromptCardNewsResponse> findAllOrderByCreatedAtDescWithCategory(
+    List<PromptCardNewsResponse> findMyPromptsWithCategory(
             @Param("memberId") Long memberId,
-            @Param("category") String category
+            @Param("category") String category,
+            @Param("visible") Boolean visible,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
+    );
+
+    // 그 사이 이미지가 바뀌었으면 반영하지 않음
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE Prompt p
+        SET p.thumbnailUrl = :thumbnailUrl,
+            p.mediumUrl = :mediumUrl
+        WHERE p.id = :promptId
+          AND p.imageUrl = :sourceUrl
+    """)
+    int updateImageVariants(
+            @Param("promptId") Long promptId,
+            @Param("sourceUrl") String sourceUrl,
+            @Param("thumbnailUrl") String thumbnailUrl,
+            @Param("mediumUrl") String mediumUrl
     );
 
+    // 좋아요 토글/LikeCountBuffer flush 시 원자적으로 증감
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE Prompt p
+        SET p.likeCount = p.likeCount + :delta
+        WHERE p.id = :promptId
+    """)
+    int addLikeCount(@Param("promptId") Long promptId, @Param("delta") long delta);
+
+    @Query("""
+        SELECT p.likeCount
+        FROM Prompt p
+        WHERE p.id = :promptId
+    """)
+    Long findLikeCount(@Param("promptId") Long promptId);
+
     @Query("""
         select new promptstudio.promptstudio.domain.prompt.dto.PromptCardNewsResponse(
             p.id,
@@ -166,30 +179,26 @@ public interface PromptRepository extends JpaRepository<Prompt, Long> {
             p.aiEnvironment,
             p.title,
             p.introduction,
-            p.imageUrl,
-            false,
-            count(l.id)
+            coalesce(p.thumbnailUrl, p.imageUrl),
+            case when exists (
+                select 1 from Likes lm
+                where lm.prompt.id = p.id
+                  and lm.member.id = :memberId
+            ) then true else false end,
+            p.likeCount,
+            p.createdAt
         )
         from Prompt p
-        left join Likes l
-            on l.prompt.id = p.id
-        where p.visible = true
+        where p.id in :promptIds
+          and p.visible = true
           and (:category = '전체' or p.category = :category)
-        group by p.id,
-                 p.member.id,
-                 p.category,
-                 p.aiEnvironment,
-                 p.title,
-                 p.introduction,
-                 p.imageUrl,
-                 p.createdAt
-        order by p.createdAt desc
     """)
-    List<PromptCardNewsResponse> findAllOrderByCreatedAtDescGuestWithCategory(
+    List<PromptCardNewsResponse> findPromptsByIdsWithCategory(
+            @Param("promptIds") List<Long> promptIds,
+            @Param("memberId") Long memberId,
             @Param("category") String category
     );
 
-
     @Query("""
         select new promptstudio.promptstudio.domain.prompt.dto.PromptCardNewsResponse(
             p.id,
@@ -198,29 +207,23 @@ public interface PromptRepository extends JpaRepository<Prompt, Long> {
             p.aiEnvironment,
             p.title,
             p.introduction,
-            p.imageUrl,
-            false,
-            count(lThisWeek.id)
+            coalesce(p.thumbnailUrl, p.imageUrl),
+            case when exists (
+                select 1 from Likes lm
+                where lm.prompt.id = p.id
+                  and lm.member.id = :memberId
+            ) then true else false end,
+            p.likeCount,
+            p.createdAt
         )
-        from Prompt p
-        left join Likes lThisWeek
-            on lThisWeek.prompt.id = p.id
-           and lThisWeek.createdAt >= :since
-        where p.visible = true
-          and (:category = '전체' or p.category = :category)
-        group by p.id,
-                 p.member.id,
-                 p.category,
-                 p.aiEnvironment,
-                 p.title,
-                 p.introduction,
-                 p.imageUrl,
-                 p.createdAt
-        order by count(lThisWeek.id) desc, p.createdAt desc
+        from ViewRecord vr
+        join vr.prompt p
+        where vr.member.id = :memberId
+          and p.visible = true
+        order by vr.updatedAt desc
     """)
-    Page<PromptCardNewsResponse> findWeeklyTopPromptsGuestWithCategory(
-            @Param("since") LocalDateTime since,
-            @Param("category") String category,
+    List<PromptCardNewsResponse> findRecentViewedCards(
+            @Param("memberId") Long memberId,
             Pageable pageable
     );
 
@@ -232,31 +235,33 @@ public interface PromptRepository extends JpaRepository<Prompt, Long> {
             p.aiEnvironment,
             p.title,
             p.introduction,
-            p.imageUrl,
+            coalesce(p.thumbnailUrl, p.imageUrl),
             true,
-            count(lAll.id)
+            p.likeCount,
+            p.createdAt,
+            lMine.createdAt
         )
         from Likes lMine
         join lMine.prompt p
-        left join Likes lAll
-            on lAll.prompt.id = p.id
         where lMine.member.id = :memberId
           and p.visible = true
           and (:category = '전체' or p.category = :category)
-        group by p.id,
-                 p.member.id,
-                 p.category,
-                 p.aiEnvironment,
-                 p.title,
-                 p.introduction,
-                 p.imageUrl,
-                 lMine.createdAt,
-                 p.createdAt
-        order by lMine.createdAt desc
+          and (
+                lower(p.title) like lower(concat('%', :query, '%'))
+             or lower(p.introduction) like lower(concat('%', :query, '%'))
+             or lower(p.content) like lower(concat('%', :query, '%'))
+          )
+          and (lMine.createdAt < :likedAt
+               or (lMine.createdAt = :likedAt and p.id < :cursorId))
+        order by lMine.createdAt desc, p.id desc
     """)
-    List<PromptCardNewsResponse> findLikedPromptsByMemberId(
+    List<PromptCardNewsResponse> searchLikedPromptsByMemberId(
             @Param("memberId") Long memberId,
-            @Param("category") String category
+            @Param("category") String category,
+            @Param("query") String query,
+            @Param("likedAt") LocalDateTime likedAt,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
     );
 
     @Query("""
@@ -267,120 +272,39 @@ public interface PromptRepository extends JpaRepository<Prompt, Long> {
             p.aiEnvironment,
             p.title,
             p.introduction,
-            p.imageUrl,
-            case when max(case when lMine.id is not null then 1 else 0 end) = 1
-                 then true else false end,
-            count(lAll.id)
+            coalesce(p.thumbnailUrl, p.imageUrl),
+            case when exists (
+                select 1 from Likes lm
+                where lm.prompt.id = p.id
+                  and lm.member.id = :memberId
+            ) then true else false end,
+            p.likeCount,
+            p.createdAt
         )
         from Prompt p
-        left join Likes lAll
-            on lAll.prompt.id = p.id
-        left join Likes lMine
-            on lMine.prompt.id = p.id
-           and lMine.member.id = :memberId
         where p.member.id = :memberId
           and (:visible is null or p.visible = :visible)
           and (:category = '전체' or p.category = :category)
-        group by p.id,
-                 p.member.id,
-                 p.category,
-                 p.aiEnvironment,
-                 p.title,
-                 p.introduction,
-                 p.imageUrl,
-                 p.createdAt
-        order by p.createdAt desc
+          and (
+                lower(p.title) like lower(concat('%', :query, '%'))
+             or lower(p.introduction) like lower(concat('%', :query, '%'))
+             or lower(p.content) like lower(concat('%', :query, '%'))
+          )
+          and (p.createdAt < :createdAt
+               or (p.createdAt = :createdAt and p.id < :cursorId))
+        order by p.createdAt desc, p.id desc
     """)
-    List<PromptCardNewsResponse> findMyPromptsWithCategory(
+    List<PromptCardNewsResponse> searchMyPromptsWithCategory(
             @Param("memberId") Long memberId,
             @Param("category") String category,
-            @Param("visible") Boolean visible
-    );
-
-
-
-    @Modifying(clearAutomatically = false, flushAutomatically = false)
-    @Query("""
-        UPDATE Prompt p
-        SET p.viewCount = p.viewCount + 1
-        WHERE p.id = :promptId
-    """)
-    void increaseViewCount(@Param("promptId") Long promptId);
-
-    @Query("""
-    select new promptstudio.promptstudio.domain.prompt.dto.PromptCardNewsResponse(
-        p.id,
-        p.member.id,
-        p.category,
-        p.aiEnvironment,
-        p.title,
-        p.introduction,
-        p.imageUrl,
-        case when max(case when lMine.id is not null then 1 else 0 end) = 1
-             then true else false end,
-        count(lAll.id)
-    )
-    from Prompt p
-    left join Likes lAll
-        on lAll.prompt.id = p.id
-    left join Likes lMine
-        on lMine.prompt.id = p.id
-       and lMine.member.id = :memberId
-    where p.id in :promptIds
-      and p.visible = true
-      and (:category = '전체' or p.category = :category)
-    group by p.id,
-             p.member.id,
-             p.category,
-             p.aiEnvironment,
-             p.title,
-             p.introduction,
-             p.imageUrl,
-             p.createdAt
-    """)
-    List<PromptCardNewsResponse> findPromptsByIdsWithCategory(
-            @Param("promptIds") List<Long> promptIds,
-            @Param("memberId") Long memberId,
-            @Param("category") String category
-    );
-
-    @Query("""
-    select new promptstudio.promptstudio.domain.prompt.dto.PromptCardNewsResponse(
-        p.id,
-        p.member.id,
-        p.category,
-        p.aiEnvironment,
-        p.title,
-        p.introduction,
-        p.imageUrl,
-        case when max(case when l2.id is not null then 1 else 0 end) = 1
-             then true else false end,
-        count(l.id)
-    )
-    from ViewRecord vr
-    join vr.prompt p
-    left join Likes l
-        on l.prompt.id = p.id
-    left join Likes l2
-        on l2.prompt.id = p.id
-       and l2.member.id = :memberId
-    where vr.member.id = :memberId
-      and p.visible = true
-    group by p.id,
-             p.member.id,
-             p.category,
-             p.aiEnvironment,
-             p.title,
-             p.introduction,
-             p.imageUrl,
-             vr.updatedAt
-    order by max(vr.updatedAt) desc
-    """)
-    List<PromptCardNewsResponse> findRecentViewedCards(
-            @Param("memberId") Long memberId,
+            @Param("visible") Boolean visible,
+            @Param("query") String query,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("cursorId") Long cursorId,
             Pageable pageable
     );
 
+    // query: PromptFullTextSearch.plan()이 만든 BOOLEAN MODE 검색식
     @Query("""
         select new promptstudio.promptstudio.domain.prompt.dto.PromptCardNewsResponse(
             p.id,
@@ -389,39 +313,32 @@ public interface PromptRepository extends JpaRepository<Prompt, Long> {
             p.aiEnvironment,
             p.title,
             p.introduction,
-            p.imageUrl,
+            coalesce(p.thumbnailUrl, p.imageUrl),
             true,
-            count(lAll.id)
+            p.likeCount,
+            p.createdAt,
+            lMine.createdAt
         )
         from Likes lMine
         join lMine.prompt p
-        left join Likes lAll
-            on lAll.prompt.id = p.id
         where lMine.member.id = :memberId
           and p.visible = true
           and (:category = '전체' or p.category = :category)
-          and (
-                lower(p.title) like lower(concat('%', :query, '%'))
-             or lower(p.introduction) like lower(concat('%', :query, '%'))
-             or lower(p.content) like lower(concat('%', :query, '%'))
-          )
-        group by p.id,
-                 p.member.id,
-                 p.category,
-                 p.aiEnvironment,
-                 p.title,
-                 p.introduction,
-                 p.imageUrl,
-                 lMine.createdAt,
-                 p.createdAt
-        order by lMine.createdAt desc
+          and function('prompt_match', p.title, p.introduction, p.content, :query) > 0
+          and (lMine.createdAt < :likedAt
+               or (lMine.createdAt = :likedAt and p.id < :cursorId))
+        order by lMine.createdAt desc, p.id desc
     """)
-    List<PromptCardNewsResponse> searchLikedPromptsByMemberId(
+    List<PromptCardNewsResponse> searchLikedPromptsByMemberIdFullText(
             @Param("memberId") Long memberId,
             @Param("category") String category,
-            @Param("query") String query
+            @Param("query") String query,
+            @Param("likedAt") LocalDateTime likedAt,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
     );
 
+    // query: PromptFullTextSearch.plan()이 만든 BOOLEAN MODE 검색식
     @Query("""
         select new promptstudio.promptstudio.domain.prompt.dto.PromptCardNewsResponse(
             p.id,
@@ -430,41 +347,49 @@ public interface PromptRepository extends JpaRepository<Prompt, Long> {
             p.aiEnvironment,
             p.title,
             p.introduction,
-            p.imageUrl,
-            case when max(case when lMine.id is not null then 1 else 0 end) = 1
-                 then true else false end,
-            count(lAll.id)
+            coalesce(p.thumbnailUrl, p.imageUrl),
+            case when exists (
+                select 1 from Likes lm
+                where lm.prompt.id = p.id
+                  and lm.member.id = :memberId
+            ) then true else false end,
+            p.likeCount,
+            p.createdAt
         )
         from Prompt p
-        left join Likes lAll
-            on lAll.prompt.id = p.id
-        left join Likes lMine
-            on lMine.prompt.id = p.id
-           and lMine.member.id = :memberId
         where p.member.id = :memberId
           and (:visible is null or p.visible = :visible)
           and (:category = '전체' or p.category = :category)
-          and (
-                lower(p.title) like lower(concat('%', :query, '%'))
-             or lower(p.introduction) like lower(concat('%', :query, '%'))
-             or lower(p.content) like lower(concat('%', :query, '%'))
-          )
-        group by p.id,
-                 p.member.id,
-                 p.category,
-                 p.aiEnvironment,
-                 p.title,
-                 p.introduction,
-                 p.imageUrl,
-                 p.createdAt
-        order by p.createdAt desc
+          and function('prompt_match', p.title, p.introduction, p.content, :query) > 0
+          and (p.createdAt < :createdAt
+               or (p.createdAt = :createdAt and p.id < :cursorId))
+        order by p.createdAt desc, p.id desc
     """)
-    List<PromptCardNewsResponse> searchMyPromptsWithCategory(
+    List<PromptCardNewsResponse> searchMyPromptsWithCategoryFullText(
             @Param("memberId") Long memberId,
             @Param("category") String category,
             @Param("visible") Boolean visible,
-            @Param("query") String query
+            @Param("query") String query,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
     );
 
+    // 통합 검색 lexical 후보: ngram FULLTEXT 관련도(NATURAL LANGUAGE MODE) 순 상위 limit개 id
+    @Query(value = """
+        SELECT p.id
+        FROM prompt p
+        WHERE p.visible = true
+          AND (:category = '전체' OR p.category = :category)
+          AND MATCH(p.title, p.introduction, p.content) AGAINST (:query IN NATURAL LANGUAGE MODE)
+        ORDER BY MATCH(p.title, p.introduction, p.content) AGAINST (:query IN NATURAL LANGUAGE MODE) DESC,
+                 p.id DESC
+        LIMIT :limit
+    """, nativeQuery = true)
+    List<Long> findIdsByFullTextRelevance(
+            @Param("category") String category,
+            @Param("query") String query,
+            @Param("limit") int limit
+    );
 
 }
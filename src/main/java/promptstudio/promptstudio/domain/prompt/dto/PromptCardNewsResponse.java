@@ -1,9 +1,12 @@
 package promptstudio.promptstudio.domain.prompt.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,6 +20,27 @@ public class PromptCardNewsResponse {
     private String imageUrl;
     private boolean liked;
     private long likeCount;
+    private LocalDateTime createdAt;
+
+    // 좋아요한 프롬프트 목록에서만 채워짐 (정렬/커서 기준)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDateTime likedAt;
+
+    public PromptCardNewsResponse(
+            Long promptId,
+            Long memberId,
+            String category,
+            String aiEnvironment,
+            String title,
+            String introduction,
+            String imageUrl,
+            boolean liked,
+            long likeCount,
+            LocalDateTime createdAt
+    ) {
+        this(promptId, memberId, category, aiEnvironment, title, introduction, imageUrl,
+                liked, likeCount, createdAt, null);
+    }
 
     public PromptCardNewsResponse(
             Long promptId,
@@ -27,7 +51,9 @@ public class PromptCardNewsResponse {
             String introduction,
             String imageUrl,
             boolean liked,
-            long likeCount
+            long likeCount,
+            LocalDateTime createdAt,
+            LocalDateTime likedAt
     ) {
         this.promptId = promptId;
         this.memberId = memberId;
@@ -38,5 +64,7 @@ public class PromptCardNewsResponse {
         this.imageUrl = imageUrl;
         this.liked = liked;
         this.likeCount = likeCount;
+        this.createdAt = createdAt;
+        this.likedAt = likedAt;
     }
 }
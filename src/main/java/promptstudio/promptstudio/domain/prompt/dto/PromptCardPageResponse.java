@@ -0,0 +1,15 @@
+package promptstudio.promptstudio.domain.prompt.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class PromptCardPageResponse {
+    private List<PromptCardNewsResponse> prompts;
+    // 다음 페이지 요청 시 cursor 파라미터로 그대로 전달 (마지막 페이지면 null)
+    private String nextCursor;
+    private boolean hasNext;
+}
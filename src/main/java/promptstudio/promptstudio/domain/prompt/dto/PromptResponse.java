@@ -19,6 +19,7 @@ public class PromptResponse {
     private boolean visible;
     private String content;
     private String imageUrl;
+    private String mediumImageUrl;
     private String result;
     private boolean imageRequired;
     private long likeCount;
@@ -0,0 +1,100 @@
+package promptstudio.promptstudio.global.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableScheduling
+public class AsyncConfig {
+
+    // true면 풀 크기 제한은 유지하되 워커를 virtual thread로 생성
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    // GPT Run 비동기 작업 워커 (Vision + DALL-E + S3 복사로 작업당 수십 초)
+    @Bean
+    public ThreadPoolTaskExecutor historyRunExecutor(
+            @Value("${app.history.run-job.pool-size:4}") int poolSize,
+            @Value("${app.history.run-job.queue-capacity:100}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("history-run-");
+        executor.setVirtualThreads(virtualThreads);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        return executor;
+    }
+
+    // MVC 비동기 응답 (이미지 스트리밍 다운로드 등)
+    @Bean
+    public ThreadPoolTaskExecutor mvcAsyncExecutor(
+            @Value("${app.web.async.pool-size:32}") int poolSize,
+            @Value("${app.web.async.queue-capacity:500}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("mvc-async-");
+        executor.setVirtualThreads(virtualThreads);
+        return executor;
+    }
+
+    // S3 복사/삭제 병렬 처리 (I/O 대기라 virtual thread 가능, 동시 요청 수만 제한)
+    @Bean
+    public ThreadPoolTaskExecutor s3TransferExecutor(
+            @Value("${app.s3.transfer.parallelism:8}") int parallelism,
+            @Value("${app.s3.transfer.queue-capacity:200}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("s3-transfer-");
+        executor.setVirtualThreads(virtualThreads);
+        // 포화 시 호출 스레드에서 실행 (순차 복사와 동일하게 동작)
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    // 프롬프트 검색의 lexical / vector 조회 동시 실행 (DB, Qdrant 대기라 virtual thread 가능)
+    @Bean
+    public ThreadPoolTaskExecutor promptSearchExecutor(
+            @Value("${app.prompt.search.pool-size:16}") int poolSize,
+            @Value("${app.prompt.search.queue-capacity:200}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("prompt-search-");
+        executor.setVirtualThreads(virtualThreads);
+        // 포화 시 호출 스레드에서 실행 (순차 조회와 동일하게 동작)
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    // 썸네일 생성 (CPU 작업이라 platform thread, 코어 수 이하로 제한)
+    @Bean
+    public ThreadPoolTaskExecutor imageVariantExecutor(
+            @Value("${app.image.variants.pool-size:2}") int poolSize,
+            @Value("${app.image.variants.queue-capacity:200}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-variant-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
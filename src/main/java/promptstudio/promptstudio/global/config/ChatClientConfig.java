@@ -1,17 +1,14 @@
 package promptstudio.promptstudio.global.config;
 
-import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.openai.OpenAiChatModel;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.Primary;
 
 @Configuration
 public class ChatClientConfig {
 
     @Bean
-    @Primary
-    public ChatClient.Builder chatClientBuilder(OpenAiChatModel openAiChatModel) {
-        return ChatClient.builder(openAiChatModel);
+    public ChatClientRegistry chatClientRegistry(OpenAiChatModel openAiChatModel) {
+        return new ChatClientRegistry(openAiChatModel);
     }
-}
\ No newline at end of file
+}
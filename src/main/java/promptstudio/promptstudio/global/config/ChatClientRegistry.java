@@ -0,0 +1,32 @@
+package promptstudio.promptstudio.global.config;
+
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.model.ChatModel;
+import promptstudio.promptstudio.global.gpt.prompt.ChatProfile;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 옵션 프로필별로 한 번만 만들어 두는 ChatClient 모음
+ * ChatClient는 불변이라 여러 스레드에서 공유해도 안전하다.
+ * (공유 ChatClient.Builder에 defaultOptions를 덮어쓰던 방식 대체)
+ */
+public class ChatClientRegistry {
+
+    private final Map<ChatProfile, ChatClient> clients = new EnumMap<>(ChatProfile.class);
+
+    public ChatClientRegistry(ChatModel chatModel) {
+        for (ChatProfile profile : ChatProfile.values()) {
+            ChatClient.Builder builder = ChatClient.builder(chatModel);
+            if (profile.getOptions() != null) {
+                builder.defaultOptions(profile.getOptions());
+            }
+            clients.put(profile, builder.build());
+        }
+    }
+
+    public ChatClient get(ChatProfile profile) {
+        return clients.get(profile);
+    }
+}
@@ -0,0 +1,24 @@
+package promptstudio.promptstudio.global.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * JPQL에서 MySQL FULLTEXT 검색을 쓰기 위한 함수 등록
+ * function('prompt_match', p.title, p.introduction, p.content, :query) > 0
+ * 컬럼 목록은 FULLTEXT 인덱스(ft_prompt_text) 정의와 같아야 한다.
+ * (META-INF/services/org.hibernate.boot.model.FunctionContributor로 등록)
+ */
+public class FullTextFunctionContributor implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry().registerPattern(
+                "prompt_match",
+                "match(?1, ?2, ?3) against (?4 in boolean mode)",
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry()
+                        .resolve(StandardBasicTypes.DOUBLE)
+        );
+    }
+}
@@ -0,0 +1,120 @@
+package promptstudio.promptstudio.global.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 호스트별 동시 요청 수 제한 (외부 서비스 한 곳이 느려질 때 스레드가 한꺼번에 묶이지 않도록)
+ * 허가는 응답 본문까지 다 읽고 응답을 닫을 때 반납한다. (헤더 수신 시점에 반납하면 본문 전송은 제한되지 않음)
+ * http.client.pool.active / http.client.pool.pending 게이지로 사용량 노출
+ */
+public class HostConcurrencyInterceptor implements ClientHttpRequestInterceptor {
+
+    private final int maxPerHost;
+    private final long acquireTimeoutMs;
+    private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    public HostConcurrencyInterceptor(String client, int maxPerHost, long acquireTimeoutMs, MeterRegistry meterRegistry) {
+        this.maxPerHost = maxPerHost;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+
+        Gauge.builder("http.client.pool.active", active, AtomicInteger::get)
+                .tag("client", client)
+                .register(meterRegistry);
+        Gauge.builder("http.client.pool.pending", pending, AtomicInteger::get)
+                .tag("client", client)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        Semaphore semaphore = permits.computeIfAbsent(request.getURI().getHost(), host -> new Semaphore(maxPerHost));
+
+        pending.incrementAndGet();
+        try {
+            if (!semaphore.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new ResourceAccessException("외부 호출 대기 시간 초과: " + request.getURI().getHost());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceAccessException("외부 호출 대기 중 인터럽트: " + request.getURI().getHost());
+        } finally {
+            pending.decrementAndGet();
+        }
+
+        active.incrementAndGet();
+        try {
+            return new PermitReleasingResponse(execution.execute(request, body), semaphore);
+        } catch (IOException | RuntimeException e) {
+            release(semaphore);
+            throw e;
+        }
+    }
+
+    private void release(Semaphore semaphore) {
+        active.decrementAndGet();
+        semaphore.release();
+    }
+
+    // RestTemplate이 본문을 읽고 응답을 닫을 때 허가 반납 (한 번만)
+    private final class PermitReleasingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final Semaphore semaphore;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private PermitReleasingResponse(ClientHttpResponse delegate, Semaphore semaphore) {
+            this.delegate = delegate;
+            this.semaphore = semaphore;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    release(semaphore);
+                }
+            }
+        }
+    }
+}
@@ -1,14 +1,88 @@
 package promptstudio.promptstudio.global.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestClientCustomizer;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * 외부 HTTP 호출 설정
+ * - JDK HttpClient 하나를 공유 (커넥션 풀, TLS 세션 재사용, 가능한 경우 HTTP/2)
+ * - 대상별로 read timeout / 호스트당 동시 요청 수를 분리
+ * - RestTemplateBuilder로 만들어 http.client.requests 메트릭이 자동 기록됨
+ */
 @Configuration
 public class RestTemplateConfig {
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public HttpClient outboundHttpClient(
+            @Value("${app.http.connect-timeout-ms:5000}") long connectTimeoutMs,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+    ) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL);
+
+        // 응답 처리/비동기 콜백도 virtual thread에서 실행
+        if (virtualThreads) {
+            builder.executor(Executors.newVirtualThreadPerTaskExecutor());
+        }
+        return builder.build();
+    }
+
+    // OpenAI Chat Completions 직접 호출 (Chat, Vision)
+    @Bean
+    public RestTemplate openAiRestTemplate(
+            RestTemplateBuilder builder,
+            HttpClient outboundHttpClient,
+            MeterRegistry meterRegistry,
+            @Value("${app.http.openai.read-timeout-ms:120000}") long readTimeoutMs,
+            @Value("${app.http.openai.max-concurrent:32}") int maxConcurrent,
+            @Value("${app.http.openai.acquire-timeout-ms:10000}") long acquireTimeoutMs
+    ) {
+        return builder
+                .requestFactory(() -> requestFactory(outboundHttpClient, readTimeoutMs))
+                .additionalInterceptors(new HostConcurrencyInterceptor("openai", maxConcurrent, acquireTimeoutMs, meterRegistry))
+                .build();
+    }
+
+    // 외부 이미지 URL 다운로드
+    @Bean
+    public RestTemplate externalRestTemplate(
+            RestTemplateBuilder builder,
+            HttpClient outboundHttpClient,
+            MeterRegistry meterRegistry,
+            @Value("${app.http.external.read-timeout-ms:30000}") long readTimeoutMs,
+            @Value("${app.http.external.max-concurrent-per-host:8}") int maxConcurrentPerHost,
+            @Value("${app.http.external.acquire-timeout-ms:5000}") long acquireTimeoutMs
+    ) {
+        return builder
+                .requestFactory(() -> requestFactory(outboundHttpClient, readTimeoutMs))
+                .additionalInterceptors(new HostConcurrencyInterceptor("external", maxConcurrentPerHost, acquireTimeoutMs, meterRegistry))
+                .build();
+    }
+
+    // Spring AI(OpenAI/Ollama) RestClient도 같은 HttpClient 사용
+    @Bean
+    public RestClientCustomizer outboundRestClientCustomizer(
+            HttpClient outboundHttpClient,
+            @Value("${app.http.openai.read-timeout-ms:120000}") long readTimeoutMs
+    ) {
+        return restClientBuilder -> restClientBuilder.requestFactory(requestFactory(outboundHttpClient, readTimeoutMs));
+    }
+
+    private JdkClientHttpRequestFactory requestFactory(HttpClient httpClient, long readTimeoutMs) {
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+        factory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        return factory;
     }
-}
\ No newline at end of file
+}
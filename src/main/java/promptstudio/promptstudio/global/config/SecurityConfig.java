@@ -1,5 +1,6 @@
 package promptstudio.promptstudio.global.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -32,6 +33,9 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
 
+                        // SSE 등 비동기 응답의 재디스패치 (최초 요청에서 이미 인증됨)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         .requestMatchers(HttpMethod.GET, "/api/prompts").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/prompts/hot").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/prompts/search").permitAll()
@@ -46,6 +50,7 @@ public class SecurityConfig {
                         .requestMatchers("/api/auth/google/callback").permitAll()
                         .requestMatchers("/api/auth/reissue").permitAll()
 
+                        // prod는 actuator를 루프백 전용 management 포트(management.server.*)에서만 제공
                         .requestMatchers("/actuator/**").permitAll()
                         .requestMatchers(
                                 "/v3/api-docs/**",
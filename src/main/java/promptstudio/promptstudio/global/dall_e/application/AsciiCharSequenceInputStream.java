@@ -0,0 +1,50 @@
+package promptstudio.promptstudio.global.dall_e.application;
+
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * ASCII 문자열(Base64 등)을 byte[]로 복사하지 않고 InputStream으로 읽기
+ * 128 이상의 문자는 '?'로 읽힌다 (Base64 디코더에서 오류 처리됨).
+ */
+class AsciiCharSequenceInputStream extends InputStream {
+
+    private final CharSequence source;
+    private int position;
+
+    AsciiCharSequenceInputStream(CharSequence source) {
+        this.source = source;
+    }
+
+    @Override
+    public int read() {
+        return position < source.length() ? toByte(source.charAt(position++)) : -1;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, buffer.length);
+        if (length == 0) {
+            return 0;
+        }
+        int remaining = source.length() - position;
+        if (remaining <= 0) {
+            return -1;
+        }
+
+        int count = Math.min(length, remaining);
+        for (int i = 0; i < count; i++) {
+            buffer[offset + i] = (byte) toByte(source.charAt(position++));
+        }
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return source.length() - position;
+    }
+
+    private static int toByte(char c) {
+        return c < 128 ? c : '?';
+    }
+}
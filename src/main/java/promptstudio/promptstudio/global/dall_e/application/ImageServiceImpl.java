@@ -1,6 +1,7 @@
 package promptstudio.promptstudio.global.dall_e.application;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.image.ImagePrompt;
 import org.springframework.ai.image.ImageResponse;
 import org.springframework.ai.openai.OpenAiImageModel;
@@ -9,18 +10,19 @@ import org.springframework.ai.openai.api.OpenAiImageApi;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
-import promptstudio.promptstudio.global.s3.service.S3StorageService;
+import promptstudio.promptstudio.global.gpt.metrics.GptMetrics;
+import promptstudio.promptstudio.global.s3.service.ContentAddressedStorage;
 
-import java.time.LocalDate;
 import java.util.Base64;
-import java.util.UUID;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ImageServiceImpl implements ImageService {
 
     private final OpenAiImageModel openAiImageModel;
-    private final S3StorageService s3StorageService;
+    private final ContentAddressedStorage contentAddressedStorage;
+    private final GptMetrics gptMetrics;
 
     @Override
     public String generateImage(String prompt) {
@@ -42,7 +44,7 @@ public class ImageServiceImpl implements ImageService {
             System.out.println("=== DALL-E 이미지 생성 시작 ===");
             System.out.println("Quality: " + quality + ", Style: " + style);
 
-            ImageResponse response = openAiImageModel.call(
+            ImageResponse response = gptMetrics.timeImage("DALL_E", "dall-e-3", quality, () -> openAiImageModel.call(
                     new ImagePrompt(prompt,
                             OpenAiImageOptions.builder()
                                     .model("dall-e-3")
@@ -53,7 +55,7 @@ public class ImageServiceImpl implements ImageService {
                                     .responseFormat("b64_json")  // Base64로 받기
                                     .build()
                     )
-            );
+            ));
 
             // Base64 데이터 추출
             String b64Data = response.getResult().getOutput().getB64Json();
@@ -67,13 +69,13 @@ public class ImageServiceImpl implements ImageService {
 
             System.out.println("Base64 데이터 수신 완료: " + b64Data.length() + " chars");
 
-            // Base64 디코딩
-            byte[] imageBytes = Base64.getDecoder().decode(b64Data);
-            System.out.println("디코딩 완료: " + imageBytes.length + " bytes");
-
-            // S3에 업로드
-            String key = "dalle/%s/%s.png".formatted(LocalDate.now(), UUID.randomUUID());
-            String s3Url = s3StorageService.uploadBytes(imageBytes, key, "image/png", "max-age=31536000");
+            // Base64를 byte[]로 디코딩하지 않고 스트림으로 풀면서 해시 계산/S3 업로드
+            // 참조는 결과를 저장하는 쪽(History, Chat)에서 retain
+            long imageSize = decodedLength(b64Data);
+            String s3Url = contentAddressedStorage.put(
+                    () -> Base64.getDecoder().wrap(new AsciiCharSequenceInputStream(b64Data)),
+                    imageSize, "png", "image/png");
+            log.debug("스트리밍 업로드: {} bytes", imageSize);
 
             System.out.println("S3 업로드 완료: " + s3Url);
             System.out.println("=== DALL-E 이미지 생성 완료 ===");
@@ -90,4 +92,13 @@ public class ImageServiceImpl implements ImageService {
             );
         }
     }
-}
\ No newline at end of file
+
+    // 패딩을 뺀 Base64 디코딩 결과 크기 (DALL-E 응답은 줄바꿈 없는 표준 Base64)
+    private long decodedLength(String b64Data) {
+        int padding = 0;
+        for (int i = b64Data.length() - 1; i >= 0 && b64Data.charAt(i) == '='; i--) {
+            padding++;
+        }
+        return (long) b64Data.length() / 4 * 3 - padding;
+    }
+}
@@ -2,6 +2,7 @@ package promptstudio.promptstudio.global.gpt.application;
 
 import org.springframework.ai.document.Document;
 import promptstudio.promptstudio.domain.history.dto.GptRunResult;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
 
@@ -17,10 +18,19 @@ public interface GptService {
     //Maker GPT runPrompt TODO:Home에서 같이 쓸지는 고민
     GptRunResult runPrompt(String prompt);
 
+    // memberId: 시맨틱 캐시에서 IMAGE 결과를 회원 단위로 구분하기 위해 사용
+    GptRunResult runPrompt(String prompt, Long memberId);
+
+    // RUN_SYSTEM 응답을 토큰 단위로 스트리밍 (원문 JSON delta)
+    Flux<String> streamPrompt(String prompt);
+
+    // 스트리밍이 끝난 RUN_SYSTEM 원문을 결과로 변환 (IMAGE면 DALL-E 생성까지 수행)
+    GptRunResult parseRunResponse(String rawResponse);
+
     GptRunResult runPromptWithImages(String prompt, List<String> imageUrls);
 
     String generateHistoryTitle(String currentTitle, String currentContent,
                                 String previousTitle, String previousContent);
 
-    String generatePromptFeedback(String content);
+    String generatePromptFeedback(Long memberId, String content);
 }
\ No newline at end of file
@@ -5,7 +5,6 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
-import org.springframework.ai.chat.prompt.ChatOptions;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.chat.prompt.PromptTemplate;
 import org.springframework.ai.document.Document;
@@ -18,31 +17,47 @@ import org.springframework.web.client.RestTemplate;
 import org.springframework.web.server.ResponseStatusException;
 import promptstudio.promptstudio.domain.history.domain.entity.ResultType;
 import promptstudio.promptstudio.domain.history.dto.GptRunResult;
+import promptstudio.promptstudio.global.config.ChatClientRegistry;
 import promptstudio.promptstudio.global.dall_e.application.ImageService;
+import promptstudio.promptstudio.global.gpt.cache.ExactResponseCache;
+import promptstudio.promptstudio.global.gpt.cache.VisionKernelCache;
+import promptstudio.promptstudio.global.gpt.cache.SemanticResponseCache;
+import promptstudio.promptstudio.global.gpt.metrics.GptMetrics;
 import org.springframework.http.*;
+import promptstudio.promptstudio.global.gpt.prompt.ChatProfile;
 import promptstudio.promptstudio.global.gpt.prompt.PromptRegistry;
 import promptstudio.promptstudio.global.gpt.prompt.PromptType;
 import promptstudio.promptstudio.global.gpt.prompt.TransformationLevel;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
 import java.util.Map;
 import java.util.*;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class GptServiceImpl implements GptService {
 
-    private final ChatClient.Builder chatClientBuilder;
+    private final ChatClientRegistry chatClientRegistry;
     private final VectorStore vectorStore;
     private final ImageService imageService;
     private final ObjectMapper objectMapper;
-    private final RestTemplate restTemplate;
+    private final RestTemplate openAiRestTemplate;
     private final PromptRegistry promptRegistry;
+    private final SemanticResponseCache semanticResponseCache;
+    private final ExactResponseCache exactResponseCache;
+    private final VisionKernelCache visionKernelCache;
+    private final GptMetrics gptMetrics;
 
     @Value("${spring.ai.openai.api-key}")
     private String apiKey;
 
+    // 이미지 파이프라인에서 Vision 결과와 무관하게 미리 정할 수 있는 스타일 정보
+    private record StylePlan(String abstractedStyle, String styleKeyword, String fewshotExamples) {
+    }
+
     private String extractStyleKeywords(String prompt) {
         String lower = prompt.toLowerCase();
 
@@ -423,8 +438,6 @@ public class GptServiceImpl implements GptService {
 
     @Override
     public String upgradeText(String fullContext, String selectedText, String direction) {
-        ChatClient chatClient = chatClientBuilder.build();
-
         PromptTemplate promptTemplate = new PromptTemplate(
                 promptRegistry.get(PromptType.UPGRADE_USER)
         );
@@ -434,12 +447,23 @@ public class GptServiceImpl implements GptService {
                 "direction", direction
         ));
 
-        String result = chatClient.prompt(prompt)
-                .system(promptRegistry.get(PromptType.UPGRADE_SYSTEM))
-                .call()
-                .content();
+        String cacheInput = prompt.getContents();
+        Optional<String> cached = semanticResponseCache.get(PromptType.UPGRADE_USER, cacheInput, null, String.class);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
 
-        return result != null ? result.trim() : selectedText;
+        String result = exactResponseCache.getOrCompute(
+                PromptType.UPGRADE_USER, promptRegistry.get(PromptType.UPGRADE_SYSTEM), cacheInput, null,
+                () -> gptMetrics.call(PromptType.UPGRADE_USER, chatClientRegistry.get(ChatProfile.DEFAULT).prompt(prompt)
+                        .system(promptRegistry.get(PromptType.UPGRADE_SYSTEM))));
+
+        if (result == null) {
+            return selectedText;
+        }
+
+        semanticResponseCache.put(PromptType.UPGRADE_USER, cacheInput, null, result.trim(), false);
+        return result.trim();
     }
 
     @Override
@@ -449,8 +473,6 @@ public class GptServiceImpl implements GptService {
             String direction,
             String ragContext
     ) {
-        ChatClient chatClient = chatClientBuilder.build();
-
         PromptTemplate promptTemplate = new PromptTemplate(
                 promptRegistry.get(PromptType.UPGRADE_USER_WITH_CONTEXT)
         );
@@ -461,10 +483,10 @@ public class GptServiceImpl implements GptService {
                 "ragContext", ragContext != null ? ragContext : ""
         ));
 
-        String result = chatClient.prompt(prompt)
-                .system(promptRegistry.get(PromptType.UPGRADE_SYSTEM))
-                .call()
-                .content();
+        String result = exactResponseCache.getOrCompute(
+                PromptType.UPGRADE_USER_WITH_CONTEXT, promptRegistry.get(PromptType.UPGRADE_SYSTEM), prompt.getContents(), null,
+                () -> gptMetrics.call(PromptType.UPGRADE_USER_WITH_CONTEXT, chatClientRegistry.get(ChatProfile.DEFAULT).prompt(prompt)
+                        .system(promptRegistry.get(PromptType.UPGRADE_SYSTEM))));
 
         return result != null ? result.trim() : selectedText;
     }
@@ -477,8 +499,6 @@ public class GptServiceImpl implements GptService {
             String prevResult,
             String direction
     ) {
-        ChatClient chatClient = chatClientBuilder.build();
-
         PromptTemplate promptTemplate = new PromptTemplate(
                 promptRegistry.get(PromptType.UPGRADE_REUPGRADE)
         );
@@ -490,10 +510,10 @@ public class GptServiceImpl implements GptService {
                 "direction", direction
         ));
 
-        String result = chatClient.prompt(prompt)
-                .system(promptRegistry.get(PromptType.UPGRADE_SYSTEM))
-                .call()
-                .content();
+        String result = exactResponseCache.getOrCompute(
+                PromptType.UPGRADE_REUPGRADE, promptRegistry.get(PromptType.UPGRADE_SYSTEM), prompt.getContents(), null,
+                () -> gptMetrics.call(PromptType.UPGRADE_REUPGRADE, chatClientRegistry.get(ChatProfile.DEFAULT).prompt(prompt)
+                        .system(promptRegistry.get(PromptType.UPGRADE_SYSTEM))));
 
         return result != null ? result.trim() : selectedText;
     }
@@ -507,8 +527,6 @@ public class GptServiceImpl implements GptService {
             String direction,
             String ragContext
     ) {
-        ChatClient chatClient = chatClientBuilder.build();
-
         PromptTemplate promptTemplate = new PromptTemplate(
                 promptRegistry.get(PromptType.UPGRADE_REUPGRADE_WITH_CONTEXT)
         );
@@ -521,57 +539,60 @@ public class GptServiceImpl implements GptService {
                 "ragContext", ragContext != null ? ragContext : ""
         ));
 
-        String result = chatClient.prompt(prompt)
-                .system(promptRegistry.get(PromptType.UPGRADE_SYSTEM))
-                .call()
-                .content();
+        String result = exactResponseCache.getOrCompute(
+                PromptType.UPGRADE_REUPGRADE_WITH_CONTEXT, promptRegistry.get(PromptType.UPGRADE_SYSTEM), prompt.getContents(), null,
+                () -> gptMetrics.call(PromptType.UPGRADE_REUPGRADE_WITH_CONTEXT, chatClientRegistry.get(ChatProfile.DEFAULT).prompt(prompt)
+                        .system(promptRegistry.get(PromptType.UPGRADE_SYSTEM))));
 
         return result != null ? result.trim() : selectedText;
     }
 
     @Override
     public GptRunResult runPrompt(String prompt) {
-        try {
-            ChatClient chatClient = chatClientBuilder.build();
-
-            String jsonResponse = chatClient.prompt()
-                    .system(promptRegistry.get(PromptType.RUN_SYSTEM))
-                    .user(prompt)
-                    .call()
-                    .content();
-
-            jsonResponse = jsonResponse
-                    .replaceAll("```json\\s*", "")
-                    .replaceAll("```\\s*", "")
-                    .trim();
+        return runPrompt(prompt, null);
+    }
 
-            JsonNode jsonNode = objectMapper.readTree(jsonResponse);
-            String type = jsonNode.get("type").asText();
+    @Override
+    public GptRunResult runPrompt(String prompt, Long memberId) {
+        try {
+            Optional<GptRunResult> cached = semanticResponseCache.get(PromptType.RUN_SYSTEM, prompt, memberId, GptRunResult.class);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
 
-            if ("IMAGE".equals(type)) {
-                String imagePrompt = jsonNode.get("prompt").asText();
+            ChatClient chatClient = chatClientRegistry.get(ChatProfile.DEFAULT);
 
-                String enhancedPrompt = enhanceImagePrompt(imagePrompt);
-                log.info("=== DALL-E 프롬프트 (Text Only - Enhanced) ===");
-                log.info("원본: {}", imagePrompt);
-                log.info("Enhanced:\n{}", enhancedPrompt);
+            String jsonResponse = gptMetrics.call(PromptType.RUN_SYSTEM, chatClient.prompt()
+                    .system(promptRegistry.get(PromptType.RUN_SYSTEM))
+                    .user(prompt));
 
-                String imageUrl = imageService.generateImageHD(enhancedPrompt);
+            GptRunResult result = toRunResult(jsonResponse);
+            semanticResponseCache.put(PromptType.RUN_SYSTEM, prompt, memberId, result,
+                    result.getResultType() == ResultType.IMAGE);
+            return result;
 
-                return GptRunResult.builder()
-                        .resultType(ResultType.IMAGE)
-                        .resultImageUrl(imageUrl)
-                        .build();
+        } catch (Exception e) {
+            throw new ResponseStatusException(
+                    HttpStatus.INTERNAL_SERVER_ERROR,
+                    "GPT 실행 중 오류가 발생했습니다: " + e.getMessage(),
+                    e
+            );
+        }
+    }
 
-            } else {
-                String content = jsonNode.get("content").asText();
+    @Override
+    public Flux<String> streamPrompt(String prompt) {
+        ChatClient chatClient = chatClientRegistry.get(ChatProfile.DEFAULT);
 
-                return GptRunResult.builder()
-                        .resultType(ResultType.TEXT)
-                        .resultText(content)
-                        .build();
-            }
+        return gptMetrics.stream(PromptType.RUN_SYSTEM, chatClient.prompt()
+                .system(promptRegistry.get(PromptType.RUN_SYSTEM))
+                .user(prompt));
+    }
 
+    @Override
+    public GptRunResult parseRunResponse(String rawResponse) {
+        try {
+            return toRunResult(rawResponse);
         } catch (Exception e) {
             throw new ResponseStatusException(
                     HttpStatus.INTERNAL_SERVER_ERROR,
@@ -581,32 +602,84 @@ public class GptServiceImpl implements GptService {
         }
     }
 
+    private GptRunResult toRunResult(String jsonResponse) throws Exception {
+        jsonResponse = jsonResponse
+                .replaceAll("```json\\s*", "")
+                .replaceAll("```\\s*", "")
+                .trim();
+
+        JsonNode jsonNode = objectMapper.readTree(jsonResponse);
+        String type = jsonNode.get("type").asText();
+
+        if ("IMAGE".equals(type)) {
+            String imagePrompt = jsonNode.get("prompt").asText();
+
+            String enhancedPrompt = enhanceImagePrompt(imagePrompt);
+            log.info("=== DALL-E 프롬프트 (Text Only - Enhanced) ===");
+            log.info("원본: {}", imagePrompt);
+            log.info("Enhanced:\n{}", enhancedPrompt);
+
+            String imageUrl = imageService.generateImageHD(enhancedPrompt);
+
+            return GptRunResult.builder()
+                    .resultType(ResultType.IMAGE)
+                    .resultImageUrl(imageUrl)
+                    .build();
+
+        } else {
+            String content = jsonNode.get("content").asText();
+
+            return GptRunResult.builder()
+                    .resultType(ResultType.TEXT)
+                    .resultText(content)
+                    .build();
+        }
+    }
+
     private String extractIdentityKernel(List<String> imageUrls) {
+        String extractorPrompt = promptRegistry.get(PromptType.VISION_IDENTITY_EXTRACTOR);
+
+        // 같은 이미지 세트(ETag) + 같은 추출 프롬프트면 Vision 호출 생략
+        Optional<String> cacheKey = visionKernelCache.keyOf(extractorPrompt, imageUrls);
+        Optional<String> cached = cacheKey.flatMap(visionKernelCache::get);
+        if (cached.isPresent()) {
+            log.info("=== Identity Kernel 캐시 적중 ===");
+            gptMetrics.recordOutcome(PromptType.VISION_IDENTITY_EXTRACTOR, "cache_hit");
+            return cached.get();
+        }
+
         try {
             // 1차 시도
             String result = callVisionApiWithPrompt(
                     imageUrls,
-                    promptRegistry.get(PromptType.VISION_IDENTITY_EXTRACTOR)
+                    extractorPrompt,
+                    PromptType.VISION_IDENTITY_EXTRACTOR.name()
             );
 
             if (!isRefusal(result) && result.trim().startsWith("{")) {
                 log.info("=== Identity Kernel 추출 완료 ===");
                 log.info("결과:\n{}", result);
+                String kernel = result;
+                cacheKey.ifPresent(key -> visionKernelCache.put(key, kernel));
                 return result;
             }
 
             // 2차 시도: 안전 프롬프트
             log.warn("=== Vision 1차 거부, 안전 프롬프트로 재시도 ===");
-            result = callVisionApiWithPrompt(imageUrls, SAFE_VISION_PROMPT);
+            gptMetrics.recordOutcome(PromptType.VISION_IDENTITY_EXTRACTOR, "refusal");
+            result = callVisionApiWithPrompt(imageUrls, SAFE_VISION_PROMPT, "VISION_SAFE");
 
             if (!isRefusal(result) && result.trim().startsWith("{")) {
                 log.info("=== Identity Kernel 추출 완료 (2차 시도) ===");
                 log.info("결과:\n{}", result);
+                String kernel = result;
+                cacheKey.ifPresent(key -> visionKernelCache.put(key, kernel));
                 return result;
             }
 
             // 둘 다 실패: 거부 메시지 그대로 반환 (상위에서 체크)
             log.warn("=== Vision 분석 불가 ===");
+            gptMetrics.recordOutcome("VISION_SAFE", "refusal");
             return result;  // "I'm sorry..." 그대로 반환
 
         } catch (Exception e) {
@@ -615,7 +688,7 @@ public class GptServiceImpl implements GptService {
         }
     }
 
-    private String callVisionApiWithPrompt(List<String> imageUrls, String systemPrompt) throws Exception {
+    private String callVisionApiWithPrompt(List<String> imageUrls, String systemPrompt, String metricType) throws Exception {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.setBearerAuth(apiKey);
@@ -657,14 +730,22 @@ public class GptServiceImpl implements GptService {
 
         HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
 
-        ResponseEntity<String> response = restTemplate.exchange(
-                GPT_VISION_URL,
-                HttpMethod.POST,
-                request,
-                String.class
-        );
+        long start = System.nanoTime();
+        ResponseEntity<String> response;
+        try {
+            response = openAiRestTemplate.exchange(
+                    GPT_VISION_URL,
+                    HttpMethod.POST,
+                    request,
+                    String.class
+            );
+        } catch (RuntimeException e) {
+            gptMetrics.recordFailure(metricType, "gpt-4o", start);
+            throw e;
+        }
 
         JsonNode jsonNode = objectMapper.readTree(response.getBody());
+        gptMetrics.recordCompletion(metricType, jsonNode, start);
         String result = jsonNode
                 .path("choices")
                 .get(0)
@@ -678,18 +759,11 @@ public class GptServiceImpl implements GptService {
                 .trim();
     }
 
-    private String composePromptWithStyle(String identityKernel, String style, String userPrompt) {
+    private String composePromptWithStyle(String identityKernel, String style, String fewshotExamples, String userPrompt) {
         try {
             TransformationLevel level = TransformationLevel.fromStyle(style);
 
-            ChatClient chatClient = chatClientBuilder
-                    .defaultOptions(ChatOptions.builder()
-                            .model("gpt-4o")
-                            .temperature(0.3)
-                            .build())
-                    .build();
-
-            String fewshotExamples = promptRegistry.getFewshotByName(style);
+            ChatClient chatClient = chatClientRegistry.get(ChatProfile.COMPOSER);
 
             PromptTemplate promptTemplate = new PromptTemplate(
                     promptRegistry.get(PromptType.VISION_FEWSHOT_TEMPLATE)
@@ -703,10 +777,8 @@ public class GptServiceImpl implements GptService {
                     "userPrompt", userPrompt
             ));
 
-            String dallePrompt = chatClient.prompt(prompt)
-                    .system(promptRegistry.get(PromptType.PROMPT_COMPOSER_SYSTEM))
-                    .call()
-                    .content();
+            String dallePrompt = gptMetrics.call(PromptType.VISION_FEWSHOT_TEMPLATE, chatClient.prompt(prompt)
+                    .system(promptRegistry.get(PromptType.PROMPT_COMPOSER_SYSTEM)));
 
             log.info("=== DALL-E 프롬프트 (Known Style: {}) ===", style);
             log.info("Transformation Level: {}", level.getLevel());
@@ -726,12 +798,7 @@ public class GptServiceImpl implements GptService {
 
     private String composePromptWithUnknownStyle(String identityKernel, String styleName, String styleAnalysis, String userPrompt) {
         try {
-            ChatClient chatClient = chatClientBuilder
-                    .defaultOptions(ChatOptions.builder()
-                            .model("gpt-4o")
-                            .temperature(0.3)
-                            .build())
-                    .build();
+            ChatClient chatClient = chatClientRegistry.get(ChatProfile.COMPOSER);
 
             PromptTemplate promptTemplate = new PromptTemplate(
                     promptRegistry.get(PromptType.VISION_UNKNOWN_STYLE_TEMPLATE)
@@ -744,10 +811,8 @@ public class GptServiceImpl implements GptService {
                     "userPrompt", userPrompt
             ));
 
-            String dallePrompt = chatClient.prompt(prompt)
-                    .system(promptRegistry.get(PromptType.PROMPT_COMPOSER_SYSTEM))
-                    .call()
-                    .content();
+            String dallePrompt = gptMetrics.call(PromptType.VISION_UNKNOWN_STYLE_TEMPLATE, chatClient.prompt(prompt)
+                    .system(promptRegistry.get(PromptType.PROMPT_COMPOSER_SYSTEM)));
 
             log.info("=== DALL-E 프롬프트 (Unknown Style: {}) ===", styleName);
             log.info("프롬프트 ({} words):\n{}", dallePrompt.split(" ").length, dallePrompt);
@@ -766,12 +831,7 @@ public class GptServiceImpl implements GptService {
 
     private String composePromptNoStyle(String identityKernel, String userPrompt) {
         try {
-            ChatClient chatClient = chatClientBuilder
-                    .defaultOptions(ChatOptions.builder()
-                            .model("gpt-4o")
-                            .temperature(0.3)
-                            .build())
-                    .build();
+            ChatClient chatClient = chatClientRegistry.get(ChatProfile.COMPOSER);
 
             PromptTemplate promptTemplate = new PromptTemplate(
                     promptRegistry.get(PromptType.VISION_NO_STYLE_TEMPLATE)
@@ -782,10 +842,8 @@ public class GptServiceImpl implements GptService {
                     "userPrompt", userPrompt
             ));
 
-            String dallePrompt = chatClient.prompt(prompt)
-                    .system(promptRegistry.get(PromptType.PROMPT_COMPOSER_SYSTEM))
-                    .call()
-                    .content();
+            String dallePrompt = gptMetrics.call(PromptType.VISION_NO_STYLE_TEMPLATE, chatClient.prompt(prompt)
+                    .system(promptRegistry.get(PromptType.PROMPT_COMPOSER_SYSTEM)));
 
             log.info("=== DALL-E 프롬프트 (No Style) ===");
             log.info("프롬프트 ({} words):\n{}", dallePrompt.split(" ").length, dallePrompt);
@@ -806,12 +864,7 @@ public class GptServiceImpl implements GptService {
         try {
             log.info("=== 스타일 특성 분석 시작: {} ===", styleName);
 
-            ChatClient chatClient = chatClientBuilder
-                    .defaultOptions(ChatOptions.builder()
-                            .model("gpt-4o")
-                            .temperature(0.3)
-                            .build())
-                    .build();
+            ChatClient chatClient = chatClientRegistry.get(ChatProfile.COMPOSER);
 
             PromptTemplate promptTemplate = new PromptTemplate(
                     promptRegistry.get(PromptType.VISION_STYLE_ANALYZER_USER)
@@ -820,10 +873,8 @@ public class GptServiceImpl implements GptService {
                     "styleName", styleName
             ));
 
-            String styleAnalysis = chatClient.prompt(prompt)
-                    .system(promptRegistry.get(PromptType.VISION_STYLE_ANALYZER_SYSTEM))
-                    .call()
-                    .content();
+            String styleAnalysis = gptMetrics.call(PromptType.VISION_STYLE_ANALYZER_USER, chatClient.prompt(prompt)
+                    .system(promptRegistry.get(PromptType.VISION_STYLE_ANALYZER_SYSTEM)));
 
             log.info("스타일 분석 완료:\n{}", styleAnalysis);
 
@@ -855,11 +906,9 @@ public class GptServiceImpl implements GptService {
                     prompt.contains("일러스트");
 
             if (!isImageRequest) {
-                ChatClient chatClient = chatClientBuilder.build();
-                String response = chatClient.prompt()
-                        .user(prompt)
-                        .call()
-                        .content();
+                ChatClient chatClient = chatClientRegistry.get(ChatProfile.DEFAULT);
+                String response = gptMetrics.call("RUN_PLAIN", chatClient.prompt()
+                        .user(prompt));
 
                 return GptRunResult.builder()
                         .resultType(ResultType.TEXT)
@@ -867,20 +916,14 @@ public class GptServiceImpl implements GptService {
                         .build();
             }
 
-            // 1. 스타일 감지
-            String detectedStyle = detectRequestedStyle(prompt);
-            String abstractedStyle = toAbstractedStyle(detectedStyle);
-            log.info("=== 감지된 스타일: {} → 추상화: {} ===", detectedStyle, abstractedStyle);
+            long pipelineStart = System.nanoTime();
 
-            // 2. Known 스타일이 아니면 키워드 추출
-            String styleKeyword = null;
-            if (abstractedStyle == null) {
-                styleKeyword = extractStyleKeywords(prompt);
-                log.info("=== 스타일 키워드 추출: {} ===", styleKeyword);
-            }
+            // 1. Vision(Identity Kernel 추출)
+            // 스타일 준비는 로컬 문자열 매칭 + 레지스트리 조회뿐이라 겹쳐 실행해도 줄어드는 시간이 없으므로 순차 실행
+            String identityKernel = timed("vision", () -> extractIdentityKernel(imageUrls));
 
-            // 3. Vision: Identity Kernel 추출
-            String identityKernel = extractIdentityKernel(imageUrls);
+            // 2. 스타일 감지/키워드/few-shot 준비
+            StylePlan stylePlan = timed("style", () -> planStyle(prompt));
 
             // === Vision 거부 체크 ===
             if (isRefusal(identityKernel)) {
@@ -891,22 +934,8 @@ public class GptServiceImpl implements GptService {
                 );
             }
 
-            // 4. DALL-E 프롬프트 생성
-            String dallePrompt;
-
-            if (abstractedStyle != null && isKnownAbstractedStyle(abstractedStyle)) {
-                // Known Style: 기존 Composer 사용
-                dallePrompt = composePromptWithStyle(identityKernel, abstractedStyle, prompt);
-
-                // Composer 거부 시 템플릿으로 대체
-                if (isRefusal(dallePrompt)) {
-                    log.warn("=== Composer 거부, 템플릿 사용 ===");
-                    dallePrompt = composePromptForUnknownStyle(identityKernel, abstractedStyle, prompt);
-                }
-            } else {
-                // Unknown Style: 직접 템플릿 사용 (Composer 우회)
-                dallePrompt = composePromptForUnknownStyle(identityKernel, styleKeyword, prompt);
-            }
+            // 3. DALL-E 프롬프트 생성
+            String dallePrompt = timed("compose", () -> composeDallePrompt(identityKernel, stylePlan, prompt));
 
             // === 최종 프롬프트 검증 ===
             if (isRefusal(dallePrompt)) {
@@ -917,16 +946,11 @@ public class GptServiceImpl implements GptService {
                 );
             }
 
-            // 5. DALL-E 이미지 생성
+            // 4. DALL-E 이미지 생성 (Known/Unknown 모두 HD)
             String resultImageUrl;
-            TransformationLevel level = TransformationLevel.fromStyle(detectedStyle);
 
             try {
-                if (level == TransformationLevel.HEAVY || level == TransformationLevel.LIGHT) {
-                    resultImageUrl = imageService.generateImageHD(dallePrompt);
-                } else {
-                    resultImageUrl = imageService.generateImageHD(dallePrompt);  // Unknown도 HD
-                }
+                resultImageUrl = timed("dalle", () -> imageService.generateImageHD(dallePrompt));
             } catch (Exception e) {
                 log.error("=== DALL-E 실패 ===");
                 log.error("에러: {}", e.getMessage());
@@ -936,6 +960,8 @@ public class GptServiceImpl implements GptService {
                 );
             }
 
+            log.info("=== 이미지 파이프라인 완료: {}ms ===", (System.nanoTime() - pipelineStart) / 1_000_000);
+
             return GptRunResult.builder()
                     .resultType(ResultType.IMAGE)
                     .resultImageUrl(resultImageUrl)
@@ -952,13 +978,60 @@ public class GptServiceImpl implements GptService {
             );
         }
     }
+
+    private StylePlan planStyle(String prompt) {
+        String detectedStyle = detectRequestedStyle(prompt);
+        String abstractedStyle = toAbstractedStyle(detectedStyle);
+        log.info("=== 감지된 스타일: {} → 추상화: {} ===", detectedStyle, abstractedStyle);
+
+        // Known 스타일이 아니면 키워드 추출, 맞으면 few-shot 미리 조회
+        String styleKeyword = null;
+        String fewshotExamples = null;
+        if (abstractedStyle == null) {
+            styleKeyword = extractStyleKeywords(prompt);
+            log.info("=== 스타일 키워드 추출: {} ===", styleKeyword);
+        } else if (isKnownAbstractedStyle(abstractedStyle)) {
+            fewshotExamples = promptRegistry.getFewshotByName(abstractedStyle);
+        }
+
+        return new StylePlan(abstractedStyle, styleKeyword, fewshotExamples);
+    }
+
+    private String composeDallePrompt(String identityKernel, StylePlan plan, String userPrompt) {
+        if (!isKnownAbstractedStyle(plan.abstractedStyle())) {
+            // Unknown Style: 직접 템플릿 사용 (Composer 우회)
+            return composePromptForUnknownStyle(identityKernel, plan.styleKeyword(), userPrompt);
+        }
+
+        // Known Style: 기존 Composer 사용
+        String dallePrompt = composePromptWithStyle(
+                identityKernel, plan.abstractedStyle(), plan.fewshotExamples(), userPrompt);
+
+        // Composer 거부 시 템플릿으로 대체
+        if (isRefusal(dallePrompt)) {
+            log.warn("=== Composer 거부, 템플릿 사용 ===");
+            gptMetrics.recordOutcome(PromptType.VISION_FEWSHOT_TEMPLATE, "refusal");
+            dallePrompt = composePromptForUnknownStyle(identityKernel, plan.abstractedStyle(), userPrompt);
+        }
+        return dallePrompt;
+    }
+
+    // 단계별 소요 시간 로깅 (임계 경로 확인용)
+    private <T> T timed(String stage, Supplier<T> supplier) {
+        long start = System.nanoTime();
+        try {
+            return supplier.get();
+        } finally {
+            log.info("=== [{}] {}ms ===", stage, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
     @Override
     public String generateHistoryTitle(String currentTitle, String currentContent,
                                        String previousTitle, String previousContent) {
         try {
-            ChatClient chatClient = chatClientBuilder.build();
-
             String userMessage;
+            PromptType userType;
 
             if (previousTitle == null || previousContent == null) {
                 PromptTemplate promptTemplate = new PromptTemplate(
@@ -969,6 +1042,7 @@ public class GptServiceImpl implements GptService {
                         "content", currentContent != null ? currentContent : ""
                 ));
                 userMessage = prompt.getContents();
+                userType = PromptType.HISTORY_FIRST;
             } else {
                 PromptTemplate promptTemplate = new PromptTemplate(
                         promptRegistry.get(PromptType.HISTORY_DIFF)
@@ -980,13 +1054,14 @@ public class GptServiceImpl implements GptService {
                         "currentContent", currentContent != null ? currentContent : ""
                 ));
                 userMessage = prompt.getContents();
+                userType = PromptType.HISTORY_DIFF;
             }
 
-            String result = chatClient.prompt()
-                    .system(promptRegistry.get(PromptType.HISTORY_SYSTEM))
-                    .user(userMessage)
-                    .call()
-                    .content();
+            String result = exactResponseCache.getOrCompute(
+                    userType, promptRegistry.get(PromptType.HISTORY_SYSTEM), userMessage, null,
+                    () -> gptMetrics.call(userType, chatClientRegistry.get(ChatProfile.DEFAULT).prompt()
+                            .system(promptRegistry.get(PromptType.HISTORY_SYSTEM))
+                            .user(userMessage)));
 
             return result != null ? result.trim() : "프롬프트 실행";
 
@@ -997,7 +1072,7 @@ public class GptServiceImpl implements GptService {
     }
 
     @Override
-    public String generatePromptFeedback(String content) {
+    public String generatePromptFeedback(Long memberId, String content) {
         try {
             if (content == null || content.isBlank()) {
                 return "아직 프롬프트가 비어있어요! 어떤 이미지를 만들고 싶은지 작성해보세요 ✨";
@@ -1007,19 +1082,27 @@ public class GptServiceImpl implements GptService {
                 return "조금 더 구체적으로 작성하면 원하는 결과를 얻기 쉬워요!";
             }
 
-            ChatClient chatClient = chatClientBuilder.build();
+            Optional<String> cached = semanticResponseCache.get(PromptType.FEEDBACK_USER, content, memberId, String.class);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+
+            ChatClient chatClient = chatClientRegistry.get(ChatProfile.DEFAULT);
 
             PromptTemplate promptTemplate = new PromptTemplate(
                     promptRegistry.get(PromptType.FEEDBACK_USER)
             );
             Prompt prompt = promptTemplate.create(Map.of("content", content));
 
-            String result = chatClient.prompt(prompt)
-                    .system(promptRegistry.get(PromptType.FEEDBACK_SYSTEM))
-                    .call()
-                    .content();
+            String result = gptMetrics.call(PromptType.FEEDBACK_USER, chatClient.prompt(prompt)
+                    .system(promptRegistry.get(PromptType.FEEDBACK_SYSTEM)));
 
-            return result != null ? result.trim() : "프롬프트를 분석하는 중 문제가 발생했어요.";
+            if (result == null) {
+                return "프롬프트를 분석하는 중 문제가 발생했어요.";
+            }
+
+            semanticResponseCache.put(PromptType.FEEDBACK_USER, content, memberId, result.trim(), false);
+            return result.trim();
 
         } catch (Exception e) {
             log.error("프롬프트 피드백 생성 실패: {}", e.getMessage());
@@ -1029,8 +1112,6 @@ public class GptServiceImpl implements GptService {
 
     @Override
     public String generateSearchQuery(String fullText, String selectedText, String direction) {
-        ChatClient chatClient = chatClientBuilder.build();
-
         PromptTemplate promptTemplate = new PromptTemplate(
                 promptRegistry.get(PromptType.QUERY_USER)
         );
@@ -1040,10 +1121,10 @@ public class GptServiceImpl implements GptService {
                 "direction", direction
         ));
 
-        String result = chatClient.prompt(prompt)
-                .system(promptRegistry.get(PromptType.QUERY_SYSTEM))
-                .call()
-                .content();
+        String result = exactResponseCache.getOrCompute(
+                PromptType.QUERY_USER, promptRegistry.get(PromptType.QUERY_SYSTEM), prompt.getContents(), null,
+                () -> gptMetrics.call(PromptType.QUERY_USER, chatClientRegistry.get(ChatProfile.DEFAULT).prompt(prompt)
+                        .system(promptRegistry.get(PromptType.QUERY_SYSTEM))));
 
         return result != null ? result.trim() : selectedText;
     }
@@ -0,0 +1,86 @@
+package promptstudio.promptstudio.global.gpt.application;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * RUN_SYSTEM 응답({"type": "TEXT", "content": "..."})을 스트리밍으로 받을 때
+ * content 문자열 값만 점진적으로 디코딩해서 돌려준다.
+ * IMAGE 응답은 content 키가 없으므로 토큰을 내보내지 않는다.
+ */
+public class RunResponseStreamParser {
+
+    private static final Pattern CONTENT_KEY = Pattern.compile("\"content\"\\s*:\\s*\"");
+
+    private final StringBuilder raw = new StringBuilder();
+    private int cursor = -1;
+    private boolean contentClosed = false;
+
+    // 새 delta를 누적하고, 이번에 새로 디코딩된 content 텍스트를 반환 (없으면 빈 문자열)
+    public synchronized String append(String delta) {
+        if (delta == null || delta.isEmpty()) {
+            return "";
+        }
+        raw.append(delta);
+
+        if (contentClosed) {
+            return "";
+        }
+
+        if (cursor < 0) {
+            Matcher matcher = CONTENT_KEY.matcher(raw);
+            if (!matcher.find()) {
+                return "";
+            }
+            cursor = matcher.end();
+        }
+
+        StringBuilder out = new StringBuilder();
+        while (cursor < raw.length()) {
+            char c = raw.charAt(cursor);
+
+            if (c == '"') {
+                contentClosed = true;
+                break;
+            }
+
+            if (c != '\\') {
+                out.append(c);
+                cursor++;
+                continue;
+            }
+
+            // 이스케이프 시퀀스가 delta 경계에서 잘린 경우 다음 delta까지 대기
+            if (cursor + 1 >= raw.length()) {
+                break;
+            }
+
+            char escaped = raw.charAt(cursor + 1);
+            if (escaped == 'u') {
+                if (cursor + 6 > raw.length()) {
+                    break;
+                }
+                out.append((char) Integer.parseInt(raw.substring(cursor + 2, cursor + 6), 16));
+                cursor += 6;
+                continue;
+            }
+
+            out.append(switch (escaped) {
+                case 'n' -> '\n';
+                case 't' -> '\t';
+                case 'r' -> '\r';
+                case 'b' -> '\b';
+                case 'f' -> '\f';
+                default -> escaped;  // ", \, /
+            });
+            cursor += 2;
+        }
+
+        return out.toString();
+    }
+
+    // 스트림 종료 후 전체 원문 (기존 파싱 로직에 그대로 전달)
+    public synchronized String getRaw() {
+        return raw.toString();
+    }
+}
@@ -0,0 +1,10 @@
+package promptstudio.promptstudio.global.gpt.cache;
+
+// loadMillis: 처음 GPT를 호출했을 때 걸린 시간 (hit 시 절약 시간으로 기록)
+record CachedResponse(String value, long loadMillis) {
+
+    int weight() {
+        // String 내부 배열 + 객체 오버헤드 대략치
+        return value.length() * 2 + 64;
+    }
+}
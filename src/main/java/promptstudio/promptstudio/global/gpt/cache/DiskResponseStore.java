@@ -0,0 +1,92 @@
+package promptstudio.promptstudio.global.gpt.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+/**
+ * ExactResponseCache의 디스크 계층
+ * 파일명 = 키(SHA-256), 첫 줄 = 최초 호출 시간(ms), 나머지 = 응답 본문
+ * 재시작 후에도 유지되며, 실패는 모두 miss로 처리한다.
+ */
+@Slf4j
+class DiskResponseStore {
+
+    private final Path directory;
+    private final Duration ttl;
+
+    DiskResponseStore(Path directory, Duration ttl) {
+        this.directory = directory;
+        this.ttl = ttl;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            log.warn("GPT 캐시 디렉토리 생성 실패: {}", directory, e);
+        }
+    }
+
+    CachedResponse get(String key) {
+        Path file = directory.resolve(key);
+        try {
+            if (!Files.exists(file) || isExpired(file)) {
+                return null;
+            }
+            String content = Files.readString(file, StandardCharsets.UTF_8);
+            int newline = content.indexOf('\n');
+            if (newline < 0) {
+                return null;
+            }
+            long loadMillis = Long.parseLong(content.substring(0, newline));
+            return new CachedResponse(content.substring(newline + 1), loadMillis);
+        } catch (IOException | NumberFormatException e) {
+            log.debug("GPT 캐시 파일 읽기 실패: {}", file, e);
+            return null;
+        }
+    }
+
+    void put(String key, CachedResponse response) {
+        Path file = directory.resolve(key);
+        try {
+            // 임시 파일에 쓰고 교체해서 읽는 쪽이 잘린 파일을 보지 않도록
+            Path temp = Files.createTempFile(directory, key, ".tmp");
+            Files.writeString(temp, response.loadMillis() + "\n" + response.value(), StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.debug("GPT 캐시 파일 쓰기 실패: {}", file, e);
+        }
+    }
+
+    void removeExpired() {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(this::isExpiredQuietly).forEach(file -> {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.debug("GPT 캐시 파일 삭제 실패: {}", file, e);
+                }
+            });
+        } catch (IOException e) {
+            log.warn("GPT 캐시 디렉토리 정리 실패: {}", directory, e);
+        }
+    }
+
+    private boolean isExpired(Path file) throws IOException {
+        Instant modified = Files.getLastModifiedTime(file).toInstant();
+        return modified.plus(ttl).isBefore(Instant.now());
+    }
+
+    private boolean isExpiredQuietly(Path file) {
+        try {
+            return isExpired(file);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
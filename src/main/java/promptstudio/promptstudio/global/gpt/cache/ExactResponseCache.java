@@ -0,0 +1,140 @@
+package promptstudio.promptstudio.global.gpt.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import promptstudio.promptstudio.global.gpt.prompt.PromptType;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+/**
+ * 완전 일치 GPT 응답 캐시
+ * - 키: SHA-256(system 프롬프트 + 렌더링된 user 프롬프트 + 모델/temperature)
+ * - 1차: 바이트 기준으로 제한한 Caffeine, 2차(선택): 로컬 디스크
+ * - hit/miss 및 절약한 GPT 호출 시간을 gpt.cache.exact.* 메트릭으로 노출
+ */
+@Slf4j
+@Component
+public class ExactResponseCache {
+
+    private static final String METRIC_PREFIX = "gpt.cache.exact";
+
+    private final boolean enabled;
+    private final String defaultModel;
+    private final Cache<String, CachedResponse> memory;
+    private final DiskResponseStore disk;
+    private final MeterRegistry meterRegistry;
+
+    public ExactResponseCache(
+            MeterRegistry meterRegistry,
+            @Value("${app.gpt.exact-cache.enabled:true}") boolean enabled,
+            @Value("${spring.ai.openai.chat.options.model:gpt-4o}") String defaultModel,
+            @Value("${app.gpt.exact-cache.max-bytes:33554432}") long maxBytes,
+            @Value("${app.gpt.exact-cache.ttl-minutes:720}") long ttlMinutes,
+            @Value("${app.gpt.exact-cache.disk.enabled:false}") boolean diskEnabled,
+            @Value("${app.gpt.exact-cache.disk.path:./cache/gpt}") String diskPath,
+            @Value("${app.gpt.exact-cache.disk.ttl-hours:168}") long diskTtlHours
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.defaultModel = defaultModel;
+        this.memory = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedResponse value) -> value.weight())
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+        this.disk = diskEnabled ? new DiskResponseStore(Path.of(diskPath), Duration.ofHours(diskTtlHours)) : null;
+    }
+
+    // options가 null이면 기본 ChatClient 설정(기본 모델, 기본 temperature)으로 간주
+    public String getOrCompute(PromptType type, String system, String user, ChatOptions options, Supplier<String> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        String key = keyOf(system, user, options);
+
+        CachedResponse cached = memory.getIfPresent(key);
+        if (cached != null) {
+            recordHit(type, "memory", cached);
+            return cached.value();
+        }
+
+        if (disk != null) {
+            cached = disk.get(key);
+            if (cached != null) {
+                memory.put(key, cached);
+                recordHit(type, "disk", cached);
+                return cached.value();
+            }
+        }
+
+        long start = System.nanoTime();
+        String value = loader.get();
+        long loadMillis = (System.nanoTime() - start) / 1_000_000;
+        counter(type, "miss", "none").increment();
+
+        if (value != null) {
+            CachedResponse response = new CachedResponse(value, loadMillis);
+            memory.put(key, response);
+            if (disk != null) {
+                disk.put(key, response);
+            }
+        }
+        return value;
+    }
+
+    @Scheduled(fixedDelayString = "${app.gpt.exact-cache.disk.cleanup-interval-ms:3600000}")
+    public void cleanupDisk() {
+        if (disk != null) {
+            disk.removeExpired();
+        }
+    }
+
+    private void recordHit(PromptType type, String tier, CachedResponse cached) {
+        counter(type, "hit", tier).increment();
+        meterRegistry.timer(METRIC_PREFIX + ".saved", "type", type.name())
+                .record(Duration.ofMillis(cached.loadMillis()));
+    }
+
+    private Counter counter(PromptType type, String result, String tier) {
+        return meterRegistry.counter(METRIC_PREFIX + ".requests",
+                "type", type.name(), "result", result, "tier", tier);
+    }
+
+    private String keyOf(String system, String user, ChatOptions options) {
+        String model = options != null && options.getModel() != null ? options.getModel() : defaultModel;
+        Double temperature = options != null ? options.getTemperature() : null;
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, system);
+            update(digest, user);
+            update(digest, model);
+            update(digest, temperature != null ? temperature.toString() : "default");
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 필드 경계가 섞이지 않도록 길이를 먼저 넣는다
+    private void update(MessageDigest digest, String value) {
+        byte[] bytes = (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+        digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) ':');
+        digest.update(bytes);
+    }
+}
@@ -0,0 +1,169 @@
+package promptstudio.promptstudio.global.gpt.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import promptstudio.promptstudio.global.gpt.prompt.PromptType;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 의미 유사도 기반 GPT 응답 캐시
+ * - 정규화한 입력을 Ollama 임베딩(bge-m3)으로 벡터화하고, 같은 PromptType 안에서 코사인 유사도로 조회
+ * - PromptType 단위 opt-in (app.gpt.semantic-cache.types)
+ * - 입력에 회원 데이터(이름, 연락처 등)가 섞여 있으므로 TEXT / IMAGE 모두 기본적으로 같은 회원에게만 반환
+ *   (share-*-across-members로 타입별 공유 허용, 회원을 알 수 없는 호출은 공유 설정이 아니면 캐시하지 않음)
+ * - 임베딩 서버 장애 시 캐시를 건너뛰고 GPT를 그대로 호출
+ */
+@Slf4j
+@Component
+public class SemanticResponseCache {
+
+    private record Entry(PromptType type, float[] vector, Object value, boolean image, Long memberId) {
+    }
+
+    private final EmbeddingModel embeddingModel;
+    private final boolean enabled;
+    private final double threshold;
+    private final Set<PromptType> types;
+    private final boolean shareImagesAcrossMembers;
+    private final boolean shareTextAcrossMembers;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final Cache<Long, Entry> entries;
+
+    // 조회 직후 저장할 때 같은 입력을 다시 임베딩하지 않도록 잠깐 보관
+    private final Cache<String, float[]> embeddings = Caffeine.newBuilder()
+            .expireAfterWrite(10, TimeUnit.MINUTES)
+            .maximumSize(1000)
+            .build();
+
+    public SemanticResponseCache(
+            EmbeddingModel embeddingModel,
+            @Value("${app.gpt.semantic-cache.enabled:false}") boolean enabled,
+            @Value("${app.gpt.semantic-cache.threshold:0.97}") double threshold,
+            @Value("${app.gpt.semantic-cache.ttl-minutes:60}") long ttlMinutes,
+            @Value("${app.gpt.semantic-cache.max-entries:2000}") long maxEntries,
+            @Value("${app.gpt.semantic-cache.types:}") Set<PromptType> types,
+            @Value("${app.gpt.semantic-cache.share-images-across-members:false}") boolean shareImagesAcrossMembers,
+            @Value("${app.gpt.semantic-cache.share-text-across-members:false}") boolean shareTextAcrossMembers
+    ) {
+        this.embeddingModel = embeddingModel;
+        this.enabled = enabled;
+        this.threshold = threshold;
+        this.types = types;
+        this.shareImagesAcrossMembers = shareImagesAcrossMembers;
+        this.shareTextAcrossMembers = shareTextAcrossMembers;
+        this.entries = Caffeine.newBuilder()
+                .expireAfterWrite(ttlMinutes, TimeUnit.MINUTES)
+                .maximumSize(maxEntries)
+                .build();
+    }
+
+    public <T> Optional<T> get(PromptType type, String input, Long memberId, Class<T> valueType) {
+        if (!isEnabled(type) || input == null || input.isBlank()) {
+            return Optional.empty();
+        }
+
+        float[] vector = embed(input);
+        if (vector == null) {
+            return Optional.empty();
+        }
+
+        Entry best = null;
+        double bestScore = threshold;
+        for (Entry entry : entries.asMap().values()) {
+            if (entry.type() != type || !valueType.isInstance(entry.value()) || !isVisibleTo(entry, memberId)) {
+                continue;
+            }
+            double score = cosine(vector, entry.vector());
+            if (score >= bestScore) {
+                best = entry;
+                bestScore = score;
+            }
+        }
+
+        if (best == null) {
+            return Optional.empty();
+        }
+
+        log.info("=== 시맨틱 캐시 HIT: {} (similarity={}) ===", type, String.format("%.4f", bestScore));
+        return Optional.of(valueType.cast(best.value()));
+    }
+
+    public void put(PromptType type, String input, Long memberId, Object value, boolean image) {
+        if (!isEnabled(type) || input == null || input.isBlank() || value == null) {
+            return;
+        }
+        // 회원을 알 수 없는 결과는 공유 설정이 아니면 저장하지 않음
+        if (memberId == null && !isShared(image)) {
+            return;
+        }
+
+        float[] vector = embed(input);
+        if (vector == null) {
+            return;
+        }
+
+        entries.put(sequence.incrementAndGet(), new Entry(type, vector, value, image, memberId));
+    }
+
+    private boolean isEnabled(PromptType type) {
+        return enabled && types.contains(type);
+    }
+
+    private boolean isVisibleTo(Entry entry, Long memberId) {
+        if (isShared(entry.image())) {
+            return true;
+        }
+        return memberId != null && Objects.equals(entry.memberId(), memberId);
+    }
+
+    private boolean isShared(boolean image) {
+        return image ? shareImagesAcrossMembers : shareTextAcrossMembers;
+    }
+
+    private float[] embed(String input) {
+        String normalized = normalize(input);
+        float[] cached = embeddings.getIfPresent(normalized);
+        if (cached != null) {
+            return cached;
+        }
+        // Caffeine.get(key, loader)는 로딩 중 락을 잡으므로 HTTP 호출은 락 밖에서 수행 (virtual thread pinning 방지)
+        try {
+            float[] vector = embeddingModel.embed(normalized);
+            embeddings.put(normalized, vector);
+            return vector;
+        } catch (Exception e) {
+            log.warn("시맨틱 캐시 임베딩 실패, 캐시 건너뜀: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private String normalize(String input) {
+        return input.trim().toLowerCase().replaceAll("\\s+", " ");
+    }
+
+    private double cosine(float[] a, float[] b) {
+        if (a.length != b.length) {
+            return -1;
+        }
+        double dot = 0, normA = 0, normB = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        if (normA == 0 || normB == 0) {
+            return -1;
+        }
+        return dot / (Math.sqrt(normA) * Math.sqrt(normB));
+    }
+}
@@ -0,0 +1,71 @@
+package promptstudio.promptstudio.global.gpt.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import promptstudio.promptstudio.global.gpt.domain.entity.VisionKernel;
+import promptstudio.promptstudio.global.gpt.domain.repository.VisionKernelRepository;
+import promptstudio.promptstudio.global.s3.service.S3StorageService;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Identity Kernel 캐시 (메모리 + DB)
+ * 같은 이미지 세트로 메이커를 다시 실행하면 Vision 호출을 건너뛴다.
+ * 이미지 해시를 알 수 없으면(외부 URL, HEAD 실패) 캐시하지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class VisionKernelCache {
+
+    private final VisionKernelRepository visionKernelRepository;
+    private final S3StorageService s3StorageService;
+
+    private final Cache<String, String> memory = Caffeine.newBuilder()
+            .expireAfterAccess(6, TimeUnit.HOURS)
+            .maximumSize(5000)
+            .build();
+
+    // 캐시 키 계산 (해시를 하나라도 못 구하면 empty)
+    public Optional<String> keyOf(String extractorPrompt, List<String> imageUrls) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(extractorPrompt.getBytes(StandardCharsets.UTF_8));
+
+            for (String imageUrl : imageUrls) {
+                String contentHash = s3StorageService.getContentHash(imageUrl);
+                if (contentHash == null) {
+                    return Optional.empty();
+                }
+                digest.update((byte) '|');
+                digest.update(contentHash.getBytes(StandardCharsets.UTF_8));
+            }
+            return Optional.of(HexFormat.of().formatHex(digest.digest()));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public Optional<String> get(String key) {
+        String cached = memory.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<String> stored = visionKernelRepository.findById(key).map(VisionKernel::getKernel);
+        stored.ifPresent(kernel -> memory.put(key, kernel));
+        return stored;
+    }
+
+    public void put(String key, String kernel) {
+        memory.put(key, kernel);
+        visionKernelRepository.insertIfAbsent(key, kernel);
+    }
+}
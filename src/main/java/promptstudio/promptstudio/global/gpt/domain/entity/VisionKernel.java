@@ -0,0 +1,34 @@
+package promptstudio.promptstudio.global.gpt.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import promptstudio.promptstudio.global.common.entity.BaseEntity;
+
+/**
+ * Vision으로 추출한 Identity Kernel 캐시
+ * cacheKey = SHA-256(추출 프롬프트 버전 + 이미지 ETag 목록(순서대로))
+ * S3 복사는 ETag를 유지하므로 MakerImage와 복사된 HistorySnapshotImage가 같은 항목을 공유한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class VisionKernel extends BaseEntity {
+
+    @Id
+    @Column(length = 64)
+    private String cacheKey;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String kernel;
+
+    @Builder
+    public VisionKernel(String cacheKey, String kernel) {
+        this.cacheKey = cacheKey;
+        this.kernel = kernel;
+    }
+}
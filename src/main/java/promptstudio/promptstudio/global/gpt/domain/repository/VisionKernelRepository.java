@@ -0,0 +1,21 @@
+package promptstudio.promptstudio.global.gpt.domain.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import promptstudio.promptstudio.global.gpt.domain.entity.VisionKernel;
+
+public interface VisionKernelRepository extends JpaRepository<VisionKernel, String> {
+
+    // 없을 때만 추가 (동시에 같은 이미지 세트를 실행한 경우 먼저 저장된 값 유지), 조회 없이 한 번의 INSERT
+    @Transactional
+    @Modifying
+    @Query(value = """
+        insert into vision_kernel (cache_key, kernel, created_at, updated_at)
+        values (:cacheKey, :kernel, now(6), now(6))
+        on duplicate key update cache_key = cache_key
+    """, nativeQuery = true)
+    int insertIfAbsent(@Param("cacheKey") String cacheKey, @Param("kernel") String kernel);
+}
@@ -0,0 +1,166 @@
+package promptstudio.promptstudio.global.gpt.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import promptstudio.promptstudio.global.gpt.prompt.PromptType;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * GPT / DALL-E 호출 메트릭
+ * - gpt.requests (Timer)            : type, model, outcome(success|error|cancel)
+ * - gpt.tokens (Counter)            : type, model, kind(prompt|completion)
+ * - gpt.cost (Counter, USD)         : type, model
+ * - gpt.outcomes (Counter)          : type, outcome(refusal|parse_fallback ...)
+ */
+@Component
+@RequiredArgsConstructor
+public class GptMetrics {
+
+    private static final String UNKNOWN_MODEL = "unknown";
+
+    private final MeterRegistry meterRegistry;
+
+    // ChatClient 호출을 실행하고 응답 텍스트 반환 (usage 블록에서 토큰 기록)
+    public String call(PromptType type, ChatClient.ChatClientRequestSpec spec) {
+        return call(type.name(), spec);
+    }
+
+    public String call(String type, ChatClient.ChatClientRequestSpec spec) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        ChatResponse response;
+        try {
+            response = spec.call().chatResponse();
+        } catch (RuntimeException e) {
+            stop(sample, type, UNKNOWN_MODEL, "error");
+            throw e;
+        }
+
+        String model = UNKNOWN_MODEL;
+        if (response != null && response.getMetadata() != null) {
+            if (response.getMetadata().getModel() != null && !response.getMetadata().getModel().isBlank()) {
+                model = response.getMetadata().getModel();
+            }
+            Usage usage = response.getMetadata().getUsage();
+            if (usage != null) {
+                recordTokens(type, model, usage.getPromptTokens(), usage.getCompletionTokens());
+            }
+        }
+        stop(sample, type, model, "success");
+
+        if (response == null || response.getResult() == null || response.getResult().getOutput() == null) {
+            return null;
+        }
+        return response.getResult().getOutput().getText();
+    }
+
+    // ChatClient 스트리밍 호출: 텍스트 조각을 그대로 흘려보내고, 스트림이 끝나면 시간과 마지막 청크의 usage 기록
+    // (usage 청크는 spring.ai.openai.chat.options.stream-usage=true일 때만 온다)
+    public Flux<String> stream(PromptType type, ChatClient.ChatClientRequestSpec spec) {
+        return stream(type.name(), spec);
+    }
+
+    public Flux<String> stream(String type, ChatClient.ChatClientRequestSpec spec) {
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            AtomicReference<String> model = new AtomicReference<>(UNKNOWN_MODEL);
+            AtomicReference<Usage> usage = new AtomicReference<>();
+
+            return spec.stream().chatResponse()
+                    .doOnNext(response -> {
+                        if (response.getMetadata() == null) {
+                            return;
+                        }
+                        if (StringUtils.hasText(response.getMetadata().getModel())) {
+                            model.set(response.getMetadata().getModel());
+                        }
+                        Usage chunkUsage = response.getMetadata().getUsage();
+                        if (chunkUsage != null && chunkUsage.getTotalTokens() != null && chunkUsage.getTotalTokens() > 0) {
+                            usage.set(chunkUsage);
+                        }
+                    })
+                    .doOnComplete(() -> {
+                        Usage total = usage.get();
+                        if (total != null) {
+                            recordTokens(type, model.get(), total.getPromptTokens(), total.getCompletionTokens());
+                        }
+                        stop(sample, type, model.get(), "success");
+                    })
+                    .doOnError(e -> stop(sample, type, model.get(), "error"))
+                    .doOnCancel(() -> stop(sample, type, model.get(), "cancel"))
+                    .mapNotNull(response -> response.getResult() == null || response.getResult().getOutput() == null
+                            ? null
+                            : response.getResult().getOutput().getText())
+                    .filter(StringUtils::hasLength);
+        });
+    }
+
+    // RestTemplate로 직접 호출한 Chat Completions 응답 기록
+    public void recordCompletion(String type, JsonNode body, long startNanos) {
+        String model = body.path("model").asText(UNKNOWN_MODEL);
+        JsonNode usage = body.path("usage");
+        if (!usage.isMissingNode()) {
+            recordTokens(type, model, usage.path("prompt_tokens").asInt(), usage.path("completion_tokens").asInt());
+        }
+        timer(type, model, "success").record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordFailure(String type, String model, long startNanos) {
+        timer(type, model, "error").record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // DALL-E 등 토큰 usage가 없는 호출 (이미지 단가로 비용 기록)
+    public <T> T timeImage(String type, String model, String quality, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            T result = call.get();
+            stop(sample, type, model, "success");
+            meterRegistry.counter("gpt.cost", "type", type, "model", model)
+                    .increment(ModelPricing.imageCost(model, quality));
+            return result;
+        } catch (RuntimeException e) {
+            stop(sample, type, model, "error");
+            throw e;
+        }
+    }
+
+    public void recordOutcome(PromptType type, String outcome) {
+        recordOutcome(type.name(), outcome);
+    }
+
+    public void recordOutcome(String type, String outcome) {
+        meterRegistry.counter("gpt.outcomes", "type", type, "outcome", outcome).increment();
+    }
+
+    private void recordTokens(String type, String model, Integer promptTokens, Integer completionTokens) {
+        int prompt = promptTokens != null ? promptTokens : 0;
+        int completion = completionTokens != null ? completionTokens : 0;
+
+        meterRegistry.counter("gpt.tokens", "type", type, "model", model, "kind", "prompt").increment(prompt);
+        meterRegistry.counter("gpt.tokens", "type", type, "model", model, "kind", "completion").increment(completion);
+        meterRegistry.counter("gpt.cost", "type", type, "model", model)
+                .increment(ModelPricing.tokenCost(model, prompt, completion));
+    }
+
+    private void stop(Timer.Sample sample, String type, String model, String outcome) {
+        sample.stop(timer(type, model, outcome));
+    }
+
+    private Timer timer(String type, String model, String outcome) {
+        return Timer.builder("gpt.requests")
+                .tag("type", type)
+                .tag("model", model)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
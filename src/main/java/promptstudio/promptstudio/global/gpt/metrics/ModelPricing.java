@@ -0,0 +1,40 @@
+package promptstudio.promptstudio.global.gpt.metrics;
+
+import java.util.List;
+
+/**
+ * 비용 메트릭용 OpenAI 단가 (USD, 공개 가격표 기준 근사치)
+ * 응답 model은 "gpt-4o-2024-08-06"처럼 버전이 붙으므로 접두사로 매칭한다.
+ */
+final class ModelPricing {
+
+    private ModelPricing() {
+    }
+
+    // 1M 토큰당 단가
+    private record TokenPrice(String modelPrefix, double inputPrice, double outputPrice) {
+    }
+
+    // 접두사가 긴 모델부터 (gpt-4o-mini가 gpt-4o에 먼저 걸리지 않도록)
+    private static final List<TokenPrice> TOKEN_PRICES = List.of(
+            new TokenPrice("gpt-4o-mini", 0.15, 0.60),
+            new TokenPrice("gpt-4o", 2.50, 10.00)
+    );
+
+    static double tokenCost(String model, int promptTokens, int completionTokens) {
+        for (TokenPrice price : TOKEN_PRICES) {
+            if (model.startsWith(price.modelPrefix())) {
+                return (promptTokens * price.inputPrice() + completionTokens * price.outputPrice()) / 1_000_000;
+            }
+        }
+        return 0;
+    }
+
+    // 1024x1024 이미지 1장
+    static double imageCost(String model, String quality) {
+        if (model.startsWith("dall-e-3")) {
+            return "hd".equals(quality) ? 0.08 : 0.04;
+        }
+        return 0;
+    }
+}
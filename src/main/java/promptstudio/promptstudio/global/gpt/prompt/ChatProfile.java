@@ -0,0 +1,19 @@
+package promptstudio.promptstudio.global.gpt.prompt;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.ai.chat.prompt.ChatOptions;
+
+@Getter
+@RequiredArgsConstructor
+public enum ChatProfile {
+
+    // 기본 모델/옵션 (spring.ai.openai.chat.options)
+    DEFAULT(null),
+    // DALL-E 프롬프트 조합, 스타일 분석
+    COMPOSER(ChatOptions.builder().model("gpt-4o").temperature(0.3).build()),
+    // 멀티턴 채팅 (긴 응답 허용)
+    CHAT(ChatOptions.builder().model("gpt-4o").maxTokens(4096).build());
+
+    private final ChatOptions options;
+}
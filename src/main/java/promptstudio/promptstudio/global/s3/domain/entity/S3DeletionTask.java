@@ -0,0 +1,40 @@
+package promptstudio.promptstudio.global.s3.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import promptstudio.promptstudio.global.common.entity.BaseEntity;
+
+import java.time.LocalDateTime;
+
+/**
+ * S3 삭제 대기열 (요청 트랜잭션과 함께 커밋되고 S3DeletionQueue 워커가 일괄 삭제)
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = @Index(name = "idx_s3_deletion_task_next_attempt", columnList = "nextAttemptAt"))
+public class S3DeletionTask extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 1024)
+    private String objectKey;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Builder
+    public S3DeletionTask(String objectKey) {
+        this.objectKey = objectKey;
+        this.attempts = 0;
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+}
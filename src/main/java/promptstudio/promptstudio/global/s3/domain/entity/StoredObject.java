@@ -0,0 +1,33 @@
+package promptstudio.promptstudio.global.s3.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import promptstudio.promptstudio.global.common.entity.BaseEntity;
+
+/**
+ * 내용 주소 기반(cas/{sha256}.{ext}) S3 객체의 참조 수
+ * refCount가 0인 채로 유예 시간이 지나면 ContentAddressedStorage.sweep에서 객체와 함께 삭제된다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class StoredObject extends BaseEntity {
+
+    @Id
+    @Column(length = 128)
+    private String objectKey;
+
+    @Column(nullable = false)
+    private long refCount;
+
+    @Builder
+    public StoredObject(String objectKey, long refCount) {
+        this.objectKey = objectKey;
+        this.refCount = refCount;
+    }
+}
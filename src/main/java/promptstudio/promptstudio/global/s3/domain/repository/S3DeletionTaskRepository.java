@@ -0,0 +1,38 @@
+package promptstudio.promptstudio.global.s3.domain.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import promptstudio.promptstudio.global.s3.domain.entity.S3DeletionTask;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface S3DeletionTaskRepository extends JpaRepository<S3DeletionTask, Long> {
+
+    @Query("""
+        select t from S3DeletionTask t
+        where t.nextAttemptAt <= :now
+        order by t.id
+    """)
+    List<S3DeletionTask> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("""
+        update S3DeletionTask t
+        set t.attempts = t.attempts + 1,
+            t.nextAttemptAt = :nextAttemptAt
+        where t.id in :ids
+    """)
+    int postpone(@Param("ids") Collection<Long> ids, @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    @Transactional
+    @Modifying
+    @Query("delete from S3DeletionTask t where t.attempts >= :maxAttempts")
+    int deleteExhausted(@Param("maxAttempts") int maxAttempts);
+}
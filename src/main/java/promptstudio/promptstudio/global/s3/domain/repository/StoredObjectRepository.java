@@ -0,0 +1,67 @@
+package promptstudio.promptstudio.global.s3.domain.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import promptstudio.promptstudio.global.s3.domain.entity.StoredObject;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StoredObjectRepository extends JpaRepository<StoredObject, String> {
+
+    @Transactional
+    @Modifying
+    @Query("""
+        update StoredObject o
+        set o.refCount = o.refCount + 1,
+            o.updatedAt = CURRENT_TIMESTAMP
+        where o.objectKey = :objectKey
+    """)
+    int incrementRef(@Param("objectKey") String objectKey);
+
+    @Transactional
+    @Modifying
+    @Query("""
+        update StoredObject o
+        set o.refCount = o.refCount - 1,
+            o.updatedAt = CURRENT_TIMESTAMP
+        where o.objectKey = :objectKey
+          and o.refCount > 0
+    """)
+    int decrementRef(@Param("objectKey") String objectKey);
+
+    // 없으면 참조 0으로 추가, 있으면 유예 시간만 갱신 (호출 트랜잭션 안에서 예외 없이 동작하도록 upsert)
+    @Transactional
+    @Modifying
+    @Query(value = """
+        insert into stored_object (object_key, ref_count, created_at, updated_at)
+        values (:objectKey, 0, now(6), now(6))
+        on duplicate key update updated_at = now(6)
+    """, nativeQuery = true)
+    int upsert(@Param("objectKey") String objectKey);
+
+    // cas/{SHA-256} 로 시작하는 행이 있는지 (확장자와 상관없이 같은 내용)
+    boolean existsByObjectKeyStartingWith(String prefix);
+
+    @Query("""
+        select o.objectKey from StoredObject o
+        where o.refCount = 0
+          and o.updatedAt < :before
+        order by o.updatedAt
+    """)
+    List<String> findUnreferencedKeys(@Param("before") LocalDateTime before, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("""
+        delete from StoredObject o
+        where o.objectKey = :objectKey
+          and o.refCount = 0
+          and o.updatedAt < :before
+    """)
+    int deleteIfUnreferenced(@Param("objectKey") String objectKey, @Param("before") LocalDateTime before);
+}
@@ -0,0 +1,177 @@
+package promptstudio.promptstudio.global.s3.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import promptstudio.promptstudio.global.s3.domain.repository.StoredObjectRepository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * 내용 주소 기반 + 참조 카운트 이미지 저장소
+ * - key = cas/{SHA-256}.{ext}: 같은 바이트는 한 번만 저장
+ * - 스냅샷/복원은 S3 복사 대신 retain(+1), 삭제는 release(-1)
+ * - 참조가 0인 객체는 유예 시간 뒤 sweep에서 삭제 예약(S3DeletionQueue) (생성 직후 아직 참조되지 않은 객체 보호)
+ * 이 방식 이전에 저장된 URL(history/, maker/ 등)은 기존처럼 물리 복사/삭제로 처리한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ContentAddressedStorage {
+
+    private static final String PREFIX = "cas/";
+    private static final String CACHE_CONTROL = "max-age=31536000, immutable";
+    private static final int SWEEP_BATCH_SIZE = 100;
+
+    private final S3StorageService s3StorageService;
+    private final StoredObjectRepository storedObjectRepository;
+    private final S3DeletionQueue s3DeletionQueue;
+
+    @Value("${app.s3.content.orphan-grace-hours:24}")
+    private long orphanGraceHours;
+
+    @FunctionalInterface
+    public interface ContentSource {
+        InputStream open() throws IOException;
+    }
+
+    // 업로드 파일 저장 + 참조 1 추가
+    public String storeUpload(MultipartFile file) {
+        String ext = s3StorageService.validateImageExtension(file);
+        return retain(put(file::getInputStream, file.getSize(), ext, file.getContentType()));
+    }
+
+    /**
+     * 객체를 업로드하고 URL 반환 (참조 수는 늘리지 않음)
+     * 해시 계산과 업로드에서 source를 두 번 연다.
+     * 같은 key는 같은 바이트이므로 PUT은 멱등이다. stored_object 행이 있어도 다시 올린다:
+     * 행 확인과 sweep 사이에 행이 지워지고 S3 삭제가 예약되면 업로드를 건너뛴 URL이 빈 객체를 가리키게 된다.
+     */
+    public String put(ContentSource source, long size, String ext, String contentType) {
+        String key;
+        try (InputStream in = source.open()) {
+            key = PREFIX + sha256(in) + "." + ext;
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "파일 읽기 실패", e);
+        }
+
+        try {
+            s3StorageService.uploadStream(source.open(), size, key, contentType, CACHE_CONTROL);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "파일 읽기 실패", e);
+        }
+
+        // 아직 참조되지 않은 객체가 sweep되지 않도록 유예 시간 갱신
+        // (업로드 직후 sweep이 행을 지웠다면 다시 생기고, 예약된 S3 삭제는 S3DeletionQueue에서 건너뜀)
+        storedObjectRepository.upsert(key);
+        return s3StorageService.urlOf(key);
+    }
+
+    // 참조 추가 후 저장할 URL 반환 (이전 방식 URL은 물리 복사본 URL)
+    public String retain(String url) {
+        String key = contentKey(url);
+        if (key == null) {
+            return s3StorageService.copyImage(url);
+        }
+        if (storedObjectRepository.incrementRef(key) == 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "원본 이미지가 존재하지 않습니다: " + key);
+        }
+        return url;
+    }
+
+    // 입력 순서대로 retain (이전 방식 URL은 한 번에 병렬 복사)
+    public List<String> retainAll(List<String> urls) {
+        List<String> legacyUrls = urls.stream()
+                .filter(url -> contentKey(url) == null)
+                .toList();
+        List<String> legacyCopies = s3StorageService.copyImages(legacyUrls);
+
+        List<String> retained = new ArrayList<>(urls.size());
+        int legacyIndex = 0;
+        for (String url : urls) {
+            retained.add(contentKey(url) == null ? legacyCopies.get(legacyIndex++) : retain(url));
+        }
+        return retained;
+    }
+
+    public void release(String url) {
+        if (url == null || url.isBlank()) {
+            return;
+        }
+        String key = contentKey(url);
+        if (key == null) {
+            s3DeletionQueue.enqueue(url);
+            return;
+        }
+        storedObjectRepository.decrementRef(key);
+    }
+
+    public void releaseAll(List<String> urls) {
+        List<String> legacyUrls = new ArrayList<>();
+        for (String url : urls) {
+            if (contentKey(url) == null) {
+                legacyUrls.add(url);
+            } else {
+                release(url);
+            }
+        }
+        s3DeletionQueue.enqueue(legacyUrls);
+    }
+
+    // 참조가 0이고 유예 시간이 지난 객체 삭제 (파생 썸네일 포함)
+    @Scheduled(fixedDelayString = "${app.s3.content.sweep-interval-ms:600000}")
+    @Transactional
+    public void sweep() {
+        LocalDateTime before = LocalDateTime.now().minusHours(orphanGraceHours);
+        List<String> keys = storedObjectRepository.findUnreferencedKeys(before, PageRequest.of(0, SWEEP_BATCH_SIZE));
+
+        // 행 삭제와 S3 삭제 예약을 한 트랜잭션으로
+        List<String> deletedKeys = new ArrayList<>();
+        for (String key : keys) {
+            if (storedObjectRepository.deleteIfUnreferenced(key, before) > 0) {
+                deletedKeys.add(key);
+            }
+        }
+        s3DeletionQueue.enqueueKeys(deletedKeys);
+        if (!deletedKeys.isEmpty()) {
+            log.info("참조 없는 이미지 {}건 삭제 예약", deletedKeys.size());
+        }
+    }
+
+    public boolean isContentAddressed(String url) {
+        return contentKey(url) != null;
+    }
+
+    private String contentKey(String url) {
+        String key = s3StorageService.extractBucketKey(url);
+        return key != null && key.startsWith(PREFIX) ? key : null;
+    }
+
+    private String sha256(InputStream in) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (DigestInputStream digestIn = new DigestInputStream(in, digest)) {
+                digestIn.transferTo(OutputStream.nullOutputStream());
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
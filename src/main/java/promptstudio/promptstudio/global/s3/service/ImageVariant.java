@@ -0,0 +1,28 @@
+package promptstudio.promptstudio.global.s3.service;
+
+/**
+ * 목록/카드용 축소 이미지
+ * 원본 key에서 파생된 key에 저장한다. (prompt/1/2025-01-01/uuid.png → prompt/1/2025-01-01/uuid_w320.jpg)
+ */
+public enum ImageVariant {
+
+    THUMBNAIL(320),
+    MEDIUM(960);
+
+    private final int width;
+
+    ImageVariant(int width) {
+        this.width = width;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public String keyOf(String sourceKey) {
+        int dot = sourceKey.lastIndexOf('.');
+        int slash = sourceKey.lastIndexOf('/');
+        String base = dot > slash ? sourceKey.substring(0, dot) : sourceKey;
+        return "%s_w%d.jpg".formatted(base, width);
+    }
+}
@@ -0,0 +1,191 @@
+package promptstudio.promptstudio.global.s3.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 업로드/생성된 이미지의 썸네일·중간 크기 JPEG 생성
+ * - 트랜잭션 커밋 후 전용 워커 풀에서 실행 (요청 응답을 막지 않음)
+ * - 큐가 가득 차면 건너뛴다 (목록은 원본 URL로 대체됨)
+ * - 디코딩 전에 헤더의 가로·세로만 읽어 max-pixels를 넘는 이미지(압축 폭탄 등)는 건너뛴다
+ * - image.variants.backlog / image.variants.active / image.variants.rejected 메트릭
+ */
+@Slf4j
+@Component
+public class ImageVariantService {
+
+    private static final float JPEG_QUALITY = 0.82f;
+    private static final String CACHE_CONTROL = "max-age=31536000";
+
+    private final S3StorageService s3StorageService;
+    private final ThreadPoolTaskExecutor imageVariantExecutor;
+    private final Counter rejectedCounter;
+    private final long maxPixels;
+
+    public ImageVariantService(
+            S3StorageService s3StorageService,
+            ThreadPoolTaskExecutor imageVariantExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${app.image.variants.max-pixels:25000000}") long maxPixels
+    ) {
+        this.s3StorageService = s3StorageService;
+        this.imageVariantExecutor = imageVariantExecutor;
+        this.maxPixels = maxPixels;
+        this.rejectedCounter = meterRegistry.counter("image.variants.rejected");
+
+        Gauge.builder("image.variants.backlog", imageVariantExecutor,
+                        executor -> executor.getThreadPoolExecutor().getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("image.variants.active", imageVariantExecutor, ThreadPoolTaskExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+
+    public record ImageVariants(String thumbnailUrl, String mediumUrl) {
+    }
+
+    // 현재 트랜잭션이 커밋된 뒤 생성 요청 (엔티티가 저장된 후에 onReady가 실행되도록)
+    public void requestAfterCommit(String sourceUrl, Consumer<ImageVariants> onReady) {
+        if (sourceUrl == null || sourceUrl.isBlank()) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(sourceUrl, onReady);
+                }
+            });
+        } else {
+            submit(sourceUrl, onReady);
+        }
+    }
+
+    private void submit(String sourceUrl, Consumer<ImageVariants> onReady) {
+        try {
+            imageVariantExecutor.execute(() -> {
+                try {
+                    ImageVariants variants = generate(sourceUrl);
+                    if (variants != null) {
+                        onReady.accept(variants);
+                    }
+                } catch (Exception e) {
+                    log.warn("이미지 변형 생성 실패: {} - {}", sourceUrl, e.getMessage());
+                }
+            });
+        } catch (TaskRejectedException e) {
+            rejectedCounter.increment();
+            log.warn("이미지 변형 큐 포화, 건너뜀: {}", sourceUrl);
+        }
+    }
+
+    private ImageVariants generate(String sourceUrl) throws IOException {
+        String sourceKey = s3StorageService.extractBucketKey(sourceUrl);
+        if (sourceKey == null) {
+            return null;  // 외부 URL
+        }
+
+        BufferedImage source;
+        try (InputStream in = s3StorageService.openObject(sourceKey)) {
+            source = decode(in, sourceKey);
+        }
+        if (source == null) {
+            return null;
+        }
+
+        Map<ImageVariant, String> urls = new EnumMap<>(ImageVariant.class);
+        for (ImageVariant variant : ImageVariant.values()) {
+            byte[] jpeg = encodeJpeg(resize(source, variant.getWidth()));
+            urls.put(variant, s3StorageService.uploadBytes(jpeg, variant.keyOf(sourceKey), "image/jpeg", CACHE_CONTROL));
+        }
+        return new ImageVariants(urls.get(ImageVariant.THUMBNAIL), urls.get(ImageVariant.MEDIUM));
+    }
+
+    // 헤더의 가로·세로를 먼저 확인하고 픽셀 예산 안일 때만 디코딩 (작은 파일이 거대한 캔버스를 선언하는 경우 방지)
+    private BufferedImage decode(InputStream in, String sourceKey) throws IOException {
+        try (ImageInputStream iis = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = iis == null ? Collections.emptyIterator() : ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) {
+                log.debug("디코딩할 수 없는 이미지 형식, 변형 생략: {}", sourceKey);  // svg, heic, webp 등
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    log.warn("이미지 픽셀 수 초과로 변형 생략: {} ({}x{})", sourceKey, reader.getWidth(0), reader.getHeight(0));
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // 원본보다 크게 늘리지 않음, 투명 배경은 흰색으로 채움 (JPEG)
+    private BufferedImage resize(BufferedImage source, int maxWidth) {
+        double scale = Math.min(1.0, (double) maxWidth / source.getWidth());
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(JPEG_QUALITY);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
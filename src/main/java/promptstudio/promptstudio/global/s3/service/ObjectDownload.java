@@ -0,0 +1,66 @@
+package promptstudio.promptstudio.global.s3.service;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 다운로드 응답용 S3 객체 스트림
+ * 본문은 응답을 쓰는 시점에 InputStream → 서블릿 출력으로 그대로 흘려보낸다. (byte[]로 모으지 않음)
+ * Range / If-None-Match는 S3 GetObject에 그대로 전달해 206 / 304를 받는다.
+ */
+public record ObjectDownload(
+        InputStream body,
+        long contentLength,
+        String contentType,
+        String eTag,
+        String contentRange,
+        boolean notModified
+) {
+
+    public static ObjectDownload notModified(String eTag) {
+        return new ObjectDownload(null, 0, null, eTag, null, true);
+    }
+
+    // S3 외부 URL처럼 스트림으로 받을 수 없는 경우
+    public static ObjectDownload ofBytes(byte[] bytes, String contentType) {
+        return new ObjectDownload(new ByteArrayInputStream(bytes), bytes.length, contentType, null, null, false);
+    }
+
+    public ResponseEntity<StreamingResponseBody> toResponse(String fileName) {
+        if (notModified) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(contentRange != null ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(fileName, StandardCharsets.UTF_8)
+                        .build()
+                        .toString())
+                .header(HttpHeaders.ACCEPT_RANGES, eTag != null ? "bytes" : "none")
+                .contentType(contentType != null ? MediaType.parseMediaType(contentType) : MediaType.IMAGE_PNG)
+                .contentLength(contentLength);
+
+        if (eTag != null) {
+            builder.eTag(eTag);
+        }
+        if (contentRange != null) {
+            builder.header(HttpHeaders.CONTENT_RANGE, contentRange);
+        }
+
+        return builder.body(out -> {
+            try (InputStream in = body) {
+                in.transferTo(out);
+            }
+        });
+    }
+}
@@ -0,0 +1,174 @@
+package promptstudio.promptstudio.global.s3.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import promptstudio.promptstudio.global.s3.domain.entity.S3DeletionTask;
+import promptstudio.promptstudio.global.s3.domain.repository.S3DeletionTaskRepository;
+import promptstudio.promptstudio.global.s3.domain.repository.StoredObjectRepository;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.S3Error;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * S3 객체 삭제 대기열
+ * - 요청 경로에서는 key만 S3DeletionTask로 저장 (호출 트랜잭션과 함께 커밋/롤백)
+ * - 워커가 DeleteObjects로 최대 1000개씩 삭제, 실패한 key는 지수 백오프로 재시도
+ * - cas/ 객체는 삭제 직전에 stored_object 행이 다시 생겼는지 확인하고, 있으면 건너뜀
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class S3DeletionQueue {
+
+    private static final int BATCH_SIZE = 1000;      // DeleteObjects 최대 key 수
+    private static final int MAX_BATCHES_PER_RUN = 10;
+    private static final String CONTENT_PREFIX = "cas/";
+    private static final int SHA256_HEX_LENGTH = 64;
+
+    private final S3DeletionTaskRepository s3DeletionTaskRepository;
+    private final StoredObjectRepository storedObjectRepository;
+    private final S3StorageService s3StorageService;
+    private final S3Client s3Client;
+
+    @Value("${app.s3.bucket}")
+    private String bucket;
+
+    @Value("${app.s3.deletion.max-attempts:8}")
+    private int maxAttempts;
+
+    // 이미지 URL 삭제 예약 (우리 버킷이 아닌 URL은 무시)
+    public void enqueue(List<String> imageUrls) {
+        enqueueKeys(imageUrls.stream()
+                .map(s3StorageService::extractBucketKey)
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    // key 삭제 예약 (파생 썸네일 포함)
+    public void enqueueKeys(List<String> keys) {
+        List<S3DeletionTask> tasks = new ArrayList<>();
+        for (String key : keys) {
+            tasks.add(S3DeletionTask.builder().objectKey(key).build());
+            for (ImageVariant variant : ImageVariant.values()) {
+                tasks.add(S3DeletionTask.builder().objectKey(variant.keyOf(key)).build());
+            }
+        }
+        s3DeletionTaskRepository.saveAll(tasks);
+    }
+
+    public void enqueue(String imageUrl) {
+        if (imageUrl != null && !imageUrl.isBlank()) {
+            enqueue(List.of(imageUrl));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.s3.deletion.drain-interval-ms:10000}")
+    public void drain() {
+        for (int i = 0; i < MAX_BATCHES_PER_RUN; i++) {
+            List<S3DeletionTask> tasks = s3DeletionTaskRepository.findDue(LocalDateTime.now(), PageRequest.of(0, BATCH_SIZE));
+            if (tasks.isEmpty()) {
+                break;
+            }
+
+            List<S3DeletionTask> deletable = skipRevivedContent(tasks);
+            if (!deletable.isEmpty()) {
+                deleteBatch(deletable);
+            }
+
+            if (tasks.size() < BATCH_SIZE) {
+                break;
+            }
+        }
+
+        int exhausted = s3DeletionTaskRepository.deleteExhausted(maxAttempts);
+        if (exhausted > 0) {
+            log.error("S3 삭제 재시도 한도 초과로 {}건 포기", exhausted);
+        }
+    }
+
+    /**
+     * sweep 이후 같은 내용이 다시 업로드돼 stored_object 행이 생긴 cas/ 객체(파생 썸네일 포함)는 삭제하지 않고 작업만 지운다.
+     * 삭제 예약부터 실행까지 drain 주기 + 재시도 백오프만큼 걸리므로, 그 사이 살아난 객체를 지우지 않도록 실행 직전에 확인한다.
+     */
+    private List<S3DeletionTask> skipRevivedContent(List<S3DeletionTask> tasks) {
+        Map<String, Boolean> revivedByPrefix = new HashMap<>();
+        List<S3DeletionTask> deletable = new ArrayList<>(tasks.size());
+        List<Long> skippedIds = new ArrayList<>();
+        for (S3DeletionTask task : tasks) {
+            String prefix = contentPrefix(task.getObjectKey());
+            boolean revived = prefix != null && revivedByPrefix.computeIfAbsent(prefix,
+                    storedObjectRepository::existsByObjectKeyStartingWith);
+            if (revived) {
+                skippedIds.add(task.getId());
+            } else {
+                deletable.add(task);
+            }
+        }
+
+        if (!skippedIds.isEmpty()) {
+            s3DeletionTaskRepository.deleteAllByIdInBatch(skippedIds);
+            log.info("다시 참조된 내용 주소 객체 {}건 삭제 취소", skippedIds.size());
+        }
+        return deletable;
+    }
+
+    // cas/{SHA-256}.{ext}, cas/{SHA-256}_w320.jpg → cas/{SHA-256}
+    private String contentPrefix(String key) {
+        int length = CONTENT_PREFIX.length() + SHA256_HEX_LENGTH;
+        if (!key.startsWith(CONTENT_PREFIX) || key.length() <= length) {
+            return null;
+        }
+        return key.substring(0, length);
+    }
+
+    private void deleteBatch(List<S3DeletionTask> tasks) {
+        Set<String> failedKeys;
+        try {
+            DeleteObjectsResponse response = s3Client.deleteObjects(builder -> builder
+                    .bucket(bucket)
+                    .delete(delete -> delete
+                            .quiet(true)  // 실패한 key만 응답에 포함
+                            .objects(tasks.stream()
+                                    .map(task -> ObjectIdentifier.builder().key(task.getObjectKey()).build())
+                                    .distinct()
+                                    .toList())));
+
+            failedKeys = response.errors().stream()
+                    .peek(error -> log.warn("S3 삭제 실패: {} ({})", error.key(), error.code()))
+                    .map(S3Error::key)
+                    .collect(Collectors.toSet());
+        } catch (Exception e) {
+            log.warn("S3 일괄 삭제 요청 실패 ({}건), 이후 재시도: {}", tasks.size(), e.getMessage());
+            failedKeys = tasks.stream().map(S3DeletionTask::getObjectKey).collect(Collectors.toSet());
+        }
+
+        List<Long> doneIds = new ArrayList<>();
+        Map<Integer, List<Long>> retryIdsByAttempts = new HashMap<>();
+        for (S3DeletionTask task : tasks) {
+            if (failedKeys.contains(task.getObjectKey())) {
+                retryIdsByAttempts.computeIfAbsent(task.getAttempts(), attempts -> new ArrayList<>()).add(task.getId());
+            } else {
+                doneIds.add(task.getId());
+            }
+        }
+
+        s3DeletionTaskRepository.deleteAllByIdInBatch(doneIds);
+        // 10초, 20초, 40초 ... 최대 1시간
+        retryIdsByAttempts.forEach((attempts, ids) -> s3DeletionTaskRepository.postpone(ids,
+                LocalDateTime.now().plusSeconds(Math.min(3600, 10L << Math.min(attempts, 20)))));
+    }
+}
@@ -4,27 +4,43 @@ import io.awspring.cloud.s3.ObjectMetadata;
 import io.awspring.cloud.s3.S3Resource;
 import io.awspring.cloud.s3.S3Template;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.Duration;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class S3StorageService {
 
     private final S3Template s3Template;
     private final S3Client s3Client;
+    private final RestTemplate externalRestTemplate;
+    private final Executor s3TransferExecutor;
 
     @Value("${app.s3.bucket}")
     private String bucket;
@@ -38,16 +54,7 @@ public class S3StorageService {
     private static final Set<String> ALLOWED = Set.of("jpg", "jpeg", "png", "webp", "gif", "bmp", "svg", "heic", "heif");
 
     public String uploadImage(MultipartFile file, String keyPrefix) {
-        if (file == null || file.isEmpty()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "파일이 비어 있습니다.");
-        }
-
-        String original = file.getOriginalFilename();
-        String ext = (original != null && original.contains(".")) ?
-                original.substring(original.lastIndexOf('.') + 1).toLowerCase() : "";
-        if (!ALLOWED.contains(ext)) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "이미지 확장자만 허용됩니다. (jpg, jpeg, png, webp, gif, bmp, svg, heic, heif)");
-        }
+        String ext = validateImageExtension(file);
 
         String key = "%s/%s/%s.%s".formatted(
                 keyPrefix, LocalDate.now(), UUID.randomUUID(), ext);
@@ -59,17 +66,36 @@ public class S3StorageService {
 
             S3Resource uploaded = s3Template.upload(bucket, key, file.getInputStream(), metadata);
 
-            if (publicRead) {
-                return "https://%s.s3.%s.amazonaws.com/%s".formatted(bucket, region, key);
-            } else {
-                return s3Template.createSignedGetURL(bucket, key, Duration.ofMinutes(15)).toString();
-            }
+            return urlOf(key);
 
         } catch (IOException e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "파일 업로드 실패", e);
         }
     }
 
+    // 이미지 확장자 검증 후 소문자 확장자 반환
+    public String validateImageExtension(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "파일이 비어 있습니다.");
+        }
+
+        String original = file.getOriginalFilename();
+        String ext = (original != null && original.contains(".")) ?
+                original.substring(original.lastIndexOf('.') + 1).toLowerCase() : "";
+        if (!ALLOWED.contains(ext)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "이미지 확장자만 허용됩니다. (jpg, jpeg, png, webp, gif, bmp, svg, heic, heif)");
+        }
+        return ext;
+    }
+
+    public String urlOf(String key) {
+        if (publicRead) {
+            return "https://%s.s3.%s.amazonaws.com/%s".formatted(bucket, region, key);
+        } else {
+            return s3Template.createSignedGetURL(bucket, key, Duration.ofMinutes(15)).toString();
+        }
+    }
+
     public String uploadBytes(byte[] bytes, String key, String contentType, String cacheControl) {
         try (var in = new java.io.ByteArrayInputStream(bytes)) {
             ObjectMetadata md = ObjectMetadata.builder()
@@ -79,11 +105,26 @@ public class S3StorageService {
 
             s3Template.upload(bucket, key, in, md);
 
-            if (publicRead) {
-                return "https://%s.s3.%s.amazonaws.com/%s".formatted(bucket, region, key);
-            } else {
-                return s3Template.createSignedGetURL(bucket, key, Duration.ofMinutes(15)).toString();
-            }
+            return urlOf(key);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "S3 업로드 실패", e);
+        }
+    }
+
+    // 크기를 아는 스트림을 메모리에 모으지 않고 바로 업로드 (DALL-E Base64 디코딩 스트림 등)
+    public String uploadStream(InputStream in, long contentLength, String key, String contentType, String cacheControl) {
+        try (in) {
+            PutObjectRequest request = PutObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .contentType(contentType)
+                    .cacheControl(cacheControl)
+                    .contentLength(contentLength)
+                    .build();
+
+            s3Client.putObject(request, RequestBody.fromInputStream(in, contentLength));
+
+            return urlOf(key);
         } catch (IOException e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "S3 업로드 실패", e);
         }
@@ -98,12 +139,29 @@ public class S3StorageService {
             // URL에서 key 추출
             String key = extractKeyFromUrl(imageUrl);
             s3Template.deleteObject(bucket, key);
+
+            // 파생 썸네일도 함께 삭제 (없으면 S3에서 무시됨)
+            for (ImageVariant variant : ImageVariant.values()) {
+                s3Template.deleteObject(bucket, variant.keyOf(key));
+            }
         } catch (Exception e) {
             // 삭제 실패해도 계속 진행 (로그만 남김)
             System.err.println("S3 파일 삭제 실패: " + imageUrl + ", " + e.getMessage());
         }
     }
 
+    // 우리 버킷 URL이면 key, 아니면 null
+    public String extractBucketKey(String imageUrl) {
+        if (imageUrl == null || !imageUrl.contains("amazonaws.com") || !imageUrl.contains(bucket)) {
+            return null;
+        }
+        return extractKeyFromUrl(imageUrl);
+    }
+
+    public InputStream openObject(String key) {
+        return s3Client.getObject(builder -> builder.bucket(bucket).key(key));
+    }
+
     private String extractKeyFromUrl(String url) {
 
         String cleanUrl = url;
@@ -160,20 +218,54 @@ public class S3StorageService {
         }
     }
 
+    /**
+     * 여러 이미지를 병렬로 복사 (결과는 입력 순서와 동일)
+     * 하나라도 실패하면 이미 복사된 사본을 지우고 예외를 던진다.
+     */
+    public List<String> copyImages(List<String> sourceUrls) {
+        if (sourceUrls.size() <= 1) {
+            return sourceUrls.stream().map(this::copyImage).toList();
+        }
+
+        List<CompletableFuture<String>> copies = sourceUrls.stream()
+                .map(url -> CompletableFuture.supplyAsync(() -> copyImage(url), s3TransferExecutor))
+                .toList();
+
+        try {
+            CompletableFuture.allOf(copies.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            List<String> copied = copies.stream()
+                    .filter(copy -> !copy.isCompletedExceptionally())
+                    .map(CompletableFuture::join)
+                    .toList();
+            deleteImages(copied);
+
+            if (e.getCause() instanceof ResponseStatusException cause) {
+                throw cause;
+            }
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "이미지 복사 실패", e.getCause());
+        }
+
+        return copies.stream().map(CompletableFuture::join).toList();
+    }
+
+    // 여러 이미지를 병렬로 삭제 (실패는 deleteImage와 같이 로그만 남김)
+    public void deleteImages(List<String> imageUrls) {
+        if (imageUrls.isEmpty()) {
+            return;
+        }
+        CompletableFuture.allOf(imageUrls.stream()
+                        .map(url -> CompletableFuture.runAsync(() -> deleteImage(url), s3TransferExecutor))
+                        .toArray(CompletableFuture[]::new))
+                .join();
+    }
+
     private String copyWithinS3(String sourceUrl) {
         System.out.println("→ S3 내부 복사 방식");
 
         String sourceKey = extractKeyFromUrl(sourceUrl);
         System.out.println("추출된 sourceKey: " + sourceKey);
 
-        // 1. 원본 파일 존재 여부 확인
-        if (!doesObjectExist(sourceKey)) {
-            throw new ResponseStatusException(
-                    HttpStatus.BAD_REQUEST,
-                    "원본 이미지가 S3에 존재하지 않습니다: " + sourceKey
-            );
-        }
-
         String ext = sourceKey.contains(".")
                 ? sourceKey.substring(sourceKey.lastIndexOf('.') + 1).toLowerCase()
                 : "jpg";
@@ -185,7 +277,7 @@ public class S3StorageService {
         );
         System.out.println("새 key: " + newKey);
 
-        // 2. 복사 실행
+        // 복사 성공 응답이 곧 존재 보장이므로 앞뒤 HEAD 확인은 하지 않음
         CopyObjectRequest copyRequest = CopyObjectRequest.builder()
                 .sourceBucket(bucket)
                 .sourceKey(sourceKey)
@@ -193,35 +285,32 @@ public class S3StorageService {
                 .destinationKey(newKey)
                 .build();
 
-        s3Client.copyObject(copyRequest);
-
-        // 3. 복사 후 파일 존재 검증
-        if (!doesObjectExist(newKey)) {
+        try {
+            s3Client.copyObject(copyRequest);
+        } catch (NoSuchKeyException e) {
             throw new ResponseStatusException(
-                    HttpStatus.INTERNAL_SERVER_ERROR,
-                    "이미지 복사 후 파일이 존재하지 않습니다: " + newKey
+                    HttpStatus.BAD_REQUEST,
+                    "원본 이미지가 S3에 존재하지 않습니다: " + sourceKey
             );
         }
 
-        System.out.println("복사 완료 및 검증 성공: " + newKey);
+        System.out.println("복사 완료: " + newKey);
 
-        if (publicRead) {
-            return "https://%s.s3.%s.amazonaws.com/%s".formatted(bucket, region, newKey);
-        } else {
-            return s3Template.createSignedGetURL(bucket, newKey, Duration.ofMinutes(15)).toString();
-        }
+        return urlOf(newKey);
     }
 
-    // 파일 존재 여부 확인 메서드 추가
-    private boolean doesObjectExist(String key) {
+    // 우리 버킷 객체의 ETag (단일 업로드/복사본은 내용 MD5와 같음), 알 수 없으면 null
+    public String getContentHash(String imageUrl) {
+        String key = extractBucketKey(imageUrl);
+        if (key == null) {
+            return null;
+        }
         try {
-            s3Client.headObject(builder -> builder.bucket(bucket).key(key));
-            return true;
-        } catch (software.amazon.awssdk.services.s3.model.NoSuchKeyException e) {
-            return false;
+            String eTag = s3Client.headObject(builder -> builder.bucket(bucket).key(key)).eTag();
+            return eTag != null ? eTag.replace("\"", "") : null;
         } catch (Exception e) {
-            System.err.println("S3 파일 존재 확인 실패: " + key + " - " + e.getMessage());
-            return false;
+            log.warn("S3 ETag 조회 실패: {} - {}", imageUrl, e.getMessage());
+            return null;
         }
     }
 
@@ -252,16 +341,7 @@ public class S3StorageService {
             // 4. S3에 업로드
             String contentType = ext.equals("png") ? "image/png" : "image/jpeg";
             String s3Url = uploadBytes(imageBytes, newKey, contentType, "max-age=31536000");
-
-            // 5. 업로드 후 파일 존재 검증
-            if (!doesObjectExist(newKey)) {
-                throw new ResponseStatusException(
-                        HttpStatus.INTERNAL_SERVER_ERROR,
-                        "이미지 업로드 후 파일이 존재하지 않습니다: " + newKey
-                );
-            }
-
-            System.out.println("S3 업로드 완료 및 검증 성공: " + s3Url);
+            System.out.println("S3 업로드 완료: " + s3Url);
             return s3Url;
 
         } catch (ResponseStatusException e) {
@@ -276,6 +356,47 @@ public class S3StorageService {
     }
 
 
+    /**
+     * 다운로드용 스트림 열기 (우리 버킷 객체만, 외부 URL은 null)
+     * range / ifNoneMatch는 요청 헤더 값 그대로 S3에 전달
+     */
+    public ObjectDownload openDownload(String imageUrl, String range, String ifNoneMatch) {
+        String key = extractBucketKey(imageUrl);
+        if (key == null) {
+            return null;
+        }
+
+        GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .range(range)
+                .ifNoneMatch(ifNoneMatch)
+                .build();
+
+        try {
+            ResponseInputStream<GetObjectResponse> in = s3Client.getObject(request);
+            GetObjectResponse response = in.response();
+            return new ObjectDownload(
+                    in,
+                    response.contentLength(),
+                    response.contentType(),
+                    response.eTag(),
+                    response.contentRange(),
+                    false
+            );
+        } catch (NoSuchKeyException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "이미지가 존재하지 않습니다.");
+        } catch (S3Exception e) {
+            if (e.statusCode() == HttpStatus.NOT_MODIFIED.value()) {
+                return ObjectDownload.notModified(ifNoneMatch);
+            }
+            if (e.statusCode() == HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value()) {
+                throw new ResponseStatusException(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, "요청한 범위가 올바르지 않습니다.");
+            }
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "S3 이미지 다운로드 실패: " + e.getMessage(), e);
+        }
+    }
+
     public byte[] downloadImageFromUrl(String imageUrl) {
         try {
             System.out.println("=== 이미지 다운로드 시작 ===");
@@ -336,16 +457,8 @@ public class S3StorageService {
             }
             System.out.println("사용할 URL: " + cleanUrl);
 
-            // RestTemplate 생성 (timeout 설정)
-            RestTemplate restTemplate = new RestTemplate();
-
-            var factory = new org.springframework.http.client.SimpleClientHttpRequestFactory();
-            factory.setConnectTimeout(30000);
-            factory.setReadTimeout(30000);
-            restTemplate.setRequestFactory(factory);
-
-            // HTTP GET 요청
-            byte[] imageBytes = restTemplate.getForObject(cleanUrl, byte[].class);
+            // HTTP GET 요청 (공유 커넥션 풀 사용)
+            byte[] imageBytes = externalRestTemplate.getForObject(cleanUrl, byte[].class);
 
             if (imageBytes == null || imageBytes.length == 0) {
                 throw new ResponseStatusException(
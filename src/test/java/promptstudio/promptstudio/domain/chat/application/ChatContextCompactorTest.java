@@ -0,0 +1,114 @@
+package promptstudio.promptstudio.domain.chat.application;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import promptstudio.promptstudio.domain.chat.domain.ChatMessage;
+import promptstudio.promptstudio.domain.chat.domain.ChatSession;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChatContextCompactorTest {
+
+    private static final int LARGE_BUDGET = 100_000;
+
+    @Test
+    void keepsShortSessionAsIs() {
+        ChatSession session = session();
+        session.addMessage(ChatMessage.user("안녕", null));
+
+        compactor(LARGE_BUDGET, 1, 1, 2000).compact(session);
+
+        assertThat(session.getMessages()).hasSize(2);
+        assertThat(session.getSummary()).isNull();
+    }
+
+    @Test
+    void foldsTurnsBeyondKeepTurnsIntoSummary() {
+        ChatSession session = session();
+        for (int turn = 1; turn <= 4; turn++) {
+            session.addMessage(ChatMessage.user("q" + turn, null));
+            session.addMessage(ChatMessage.assistant("a" + turn));
+        }
+
+        compactor(LARGE_BUDGET, 2, 1, 2000).compact(session);
+
+        assertThat(session.getMessages()).extracting(ChatMessage::getContent)
+                .containsExactly("system", "q3", "a3", "q4", "a4");
+        assertThat(session.getSummary()).isEqualTo("- 사용자: q1\n- 어시스턴트: a1\n- 사용자: q2\n- 어시스턴트: a2");
+    }
+
+    @Test
+    void foldsOverBudgetTurnsButKeepsCurrentOne() {
+        ChatSession session = session();
+        for (int turn = 1; turn <= 3; turn++) {
+            session.addMessage(ChatMessage.user("질문".repeat(50), null));
+            session.addMessage(ChatMessage.assistant("답변".repeat(50)));
+        }
+        session.addMessage(ChatMessage.user("현재 질문".repeat(100), null));
+
+        compactor(10, 6, 1, 100_000).compact(session);
+
+        // 예산을 넘어도 마지막 턴(현재 질문)은 남는다
+        assertThat(session.getMessages()).hasSize(2);
+        assertThat(session.getMessages().get(1).getContent()).startsWith("현재 질문");
+        assertThat(session.getSummary().lines()).hasSize(6);
+    }
+
+    @Test
+    void dropsImagesExceptRecentImageTurns() {
+        ChatSession session = session();
+        session.addMessage(ChatMessage.user("첫 이미지", List.of("a.png", "b.png")));
+        session.addMessage(ChatMessage.assistant("응답"));
+        session.addMessage(ChatMessage.user("두번째 이미지", List.of("c.png")));
+
+        compactor(LARGE_BUDGET, 6, 1, 2000).compact(session);
+
+        ChatMessage older = session.getMessages().get(1);
+        assertThat(older.getImages()).isNull();
+        assertThat(older.getContent()).isEqualTo("첫 이미지\n(이미지 2장 첨부됨)");
+        assertThat(session.getMessages().get(3).getImages()).containsExactly("c.png");
+    }
+
+    @Test
+    void summarizesRunSystemJsonResponses() {
+        ChatSession session = session();
+        session.addMessage(ChatMessage.user("설명해줘", null));
+        session.addMessage(ChatMessage.assistant("```json\n{\"content\": \"설명입니다\"}\n```"));
+        session.addMessage(ChatMessage.user("그려줘", null));
+        session.addMessage(ChatMessage.assistant("{\"prompt\": \"a cat\"}"));
+        session.addMessage(ChatMessage.user("다음", null));
+
+        compactor(LARGE_BUDGET, 1, 1, 2000).compact(session);
+
+        assertThat(session.getSummary()).isEqualTo(
+                "- 사용자: 설명해줘\n- 어시스턴트: 설명입니다\n- 사용자: 그려줘\n- 어시스턴트: [이미지 생성] a cat");
+    }
+
+    @Test
+    void summaryDropsOldestLinesOverLimit() {
+        ChatSession session = session();
+        session.setSummary("- 사용자: " + "오래된 줄".repeat(10));
+        session.addMessage(ChatMessage.user("q1", null));
+        session.addMessage(ChatMessage.assistant("a1"));
+        session.addMessage(ChatMessage.user("q2", null));
+
+        compactor(LARGE_BUDGET, 1, 1, 30).compact(session);
+
+        assertThat(session.getSummary()).isEqualTo("- 사용자: q1\n- 어시스턴트: a1");
+    }
+
+    private ChatSession session() {
+        ChatSession session = ChatSession.builder()
+                .sessionId("session")
+                .memberId(1L)
+                .build();
+        session.addMessage(ChatMessage.system("system"));
+        return session;
+    }
+
+    private ChatContextCompactor compactor(int tokenBudget, int keepTurns, int imageTurns, int summaryMaxChars) {
+        return new ChatContextCompactor(new ObjectMapper(), tokenBudget, keepTurns, imageTurns, summaryMaxChars);
+    }
+}
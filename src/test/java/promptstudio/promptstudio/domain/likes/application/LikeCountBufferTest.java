@@ -0,0 +1,119 @@
+package promptstudio.promptstudio.domain.likes.application;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import promptstudio.promptstudio.domain.prompt.domain.repository.PromptRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class LikeCountBufferTest {
+
+    private static final Long PROMPT_ID = 7L;
+
+    private PromptRepository promptRepository;
+    private LikeCountBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        promptRepository = mock(PromptRepository.class);
+        buffer = new LikeCountBuffer(promptRepository, new SimpleMeterRegistry(), 3);
+    }
+
+    @Test
+    void coldPromptFallsBackToDirectUpdate() {
+        // threshold 미만이면 false → 호출 측이 addLikeCount로 바로 반영
+        assertThat(buffer.offer(PROMPT_ID, 1)).isFalse();
+        assertThat(buffer.offer(PROMPT_ID, 1)).isFalse();
+        assertThat(buffer.pending(PROMPT_ID)).isZero();
+
+        buffer.flush();
+
+        verify(promptRepository, never()).addLikeCount(anyLong(), anyLong());
+    }
+
+    @Test
+    void hotPromptIsBufferedAndFlushedOnce() {
+        heatUp();
+
+        assertThat(buffer.offer(PROMPT_ID, 1)).isTrue();
+        assertThat(buffer.offer(PROMPT_ID, 1)).isTrue();
+        assertThat(buffer.offer(PROMPT_ID, -1)).isTrue();
+        // getPromptDetail / 토글 응답은 DB 값에 이 증감분을 더해 보여 준다
+        assertThat(buffer.pending(PROMPT_ID)).isEqualTo(2);
+
+        buffer.flush();
+
+        verify(promptRepository).addLikeCount(PROMPT_ID, 2);
+        assertThat(buffer.pending(PROMPT_ID)).isZero();
+    }
+
+    @Test
+    void bufferedDeltaIsAppliedOnlyAfterCommit() {
+        heatUp();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertThat(buffer.offer(PROMPT_ID, 1)).isTrue();
+            assertThat(buffer.pending(PROMPT_ID)).isZero();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(buffer.pending(PROMPT_ID)).isEqualTo(1);
+    }
+
+    @Test
+    void failedFlushIsMergedBackAndRetried() {
+        heatUp();
+        buffer.offer(PROMPT_ID, 1);
+        buffer.offer(PROMPT_ID, 1);
+        doThrow(new DataAccessResourceFailureException("down"))
+                .when(promptRepository).addLikeCount(PROMPT_ID, 2);
+
+        buffer.flush();
+
+        assertThat(buffer.pending(PROMPT_ID)).isEqualTo(2);
+
+        // 실패 후 들어온 토글과 합쳐서 다음 주기에 한 번에 반영
+        buffer.offer(PROMPT_ID, 1);
+        doReturn(1).when(promptRepository).addLikeCount(PROMPT_ID, 3);
+
+        buffer.flush();
+
+        verify(promptRepository).addLikeCount(PROMPT_ID, 3);
+        assertThat(buffer.pending(PROMPT_ID)).isZero();
+    }
+
+    @Test
+    void idlePromptReturnsToDirectUpdate() {
+        heatUp();
+        buffer.offer(PROMPT_ID, 1);
+
+        buffer.flush();  // 반영 + hits 초기화
+        buffer.flush();  // 토글 없던 주기 → 제거
+        clearInvocations(promptRepository);
+
+        assertThat(buffer.offer(PROMPT_ID, 1)).isFalse();
+        buffer.flush();
+        verify(promptRepository, never()).addLikeCount(anyLong(), anyLong());
+    }
+
+    // threshold(3)번째 토글부터 버퍼 경로
+    private void heatUp() {
+        buffer.offer(PROMPT_ID, 1);
+        buffer.offer(PROMPT_ID, -1);
+    }
+}
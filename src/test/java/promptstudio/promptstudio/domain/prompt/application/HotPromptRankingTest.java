@@ -0,0 +1,178 @@
+package promptstudio.promptstudio.domain.prompt.application;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import promptstudio.promptstudio.domain.likes.domain.repository.LikesRepository;
+import promptstudio.promptstudio.domain.likes.domain.repository.WeeklyLikeBucket;
+import promptstudio.promptstudio.domain.prompt.application.HotPromptRanking.Ranked;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 트랜잭션 동기화가 없으므로 recordAfterCommit / updatePromptAfterCommit은 바로 반영된다
+class HotPromptRankingTest {
+
+    private static final String IMAGE = "이미지";
+    private static final String TEXT = "텍스트";
+
+    private LikesRepository likesRepository;
+    private HotPromptRanking ranking;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        likesRepository = mock(LikesRepository.class);
+        ranking = new HotPromptRanking(likesRepository, new SimpleMeterRegistry());
+        now = LocalDateTime.now();
+    }
+
+    @Test
+    void ordersByWeeklyLikesThenNewerPrompt() {
+        like(1L, IMAGE, 3);
+        like(2L, IMAGE, 1);
+        like(3L, TEXT, 1);
+
+        assertThat(ranking.top(HotPromptRanking.ALL, 10)).containsExactly(
+                new Ranked(1L, 3), new Ranked(3L, 1), new Ranked(2L, 1));
+        assertThat(ranking.top(IMAGE, 10)).containsExactly(new Ranked(1L, 3), new Ranked(2L, 1));
+        assertThat(ranking.top(TEXT, 10)).containsExactly(new Ranked(3L, 1));
+        assertThat(ranking.top(HotPromptRanking.ALL, 1)).containsExactly(new Ranked(1L, 3));
+    }
+
+    @Test
+    void keepsOnlyTopTen() {
+        for (long id = 1; id <= 12; id++) {
+            like(id, IMAGE, (int) id);
+        }
+
+        List<Ranked> top = ranking.top(IMAGE, 20);
+        assertThat(top).hasSize(10);
+        assertThat(top.get(0)).isEqualTo(new Ranked(12L, 12));
+        assertThat(top.get(9)).isEqualTo(new Ranked(3L, 3));
+    }
+
+    @Test
+    void unlikeDecrementsAndDropsPromptAtZero() {
+        like(1L, IMAGE, 2);
+        ranking.recordAfterCommit(1L, IMAGE, true, now, -1);
+        assertThat(ranking.top(IMAGE, 10)).containsExactly(new Ranked(1L, 1));
+
+        ranking.recordAfterCommit(1L, IMAGE, true, now, -1);
+        // 0 아래로 내려가지 않고 목록에서 빠진다
+        ranking.recordAfterCommit(1L, IMAGE, true, now, -1);
+        assertThat(ranking.top(IMAGE, 10)).isEmpty();
+        assertThat(ranking.top(HotPromptRanking.ALL, 10)).isEmpty();
+    }
+
+    @Test
+    void ignoresLikesOutsideTheWindow() {
+        ranking.recordAfterCommit(1L, IMAGE, true, now.minusHours(24 * 7), 1);
+        ranking.recordAfterCommit(2L, IMAGE, true, now.minusHours(24 * 7 - 1), 1);
+
+        assertThat(ranking.top(IMAGE, 10)).containsExactly(new Ranked(2L, 1));
+    }
+
+    @Test
+    void ringBufferExpiresBucketsOnceTheWindowSlides() {
+        like(1L, IMAGE, 3);
+        like(2L, IMAGE, 2);
+
+        // 7일 뒤 같은 슬롯에 들어온 좋아요는 예전 버킷을 밀어내고 새로 센다
+        ranking.recordAfterCommit(1L, IMAGE, true, now.plusHours(24 * 7), 1);
+
+        assertThat(ranking.top(IMAGE, 10)).containsExactly(new Ranked(2L, 2), new Ranked(1L, 1));
+    }
+
+    @Test
+    void hiddenPromptIsRemoved() {
+        like(1L, IMAGE, 2);
+        like(2L, IMAGE, 1);
+
+        ranking.updatePromptAfterCommit(1L, IMAGE, false);
+        assertThat(ranking.top(IMAGE, 10)).containsExactly(new Ranked(2L, 1));
+
+        ranking.recordAfterCommit(2L, IMAGE, false, now, 1);
+        assertThat(ranking.top(HotPromptRanking.ALL, 10)).isEmpty();
+    }
+
+    @Test
+    void categoryChangeMovesPrompt() {
+        like(1L, IMAGE, 2);
+
+        ranking.updatePromptAfterCommit(1L, TEXT, true);
+
+        assertThat(ranking.top(IMAGE, 10)).isEmpty();
+        assertThat(ranking.top(TEXT, 10)).containsExactly(new Ranked(1L, 2));
+        assertThat(ranking.top(HotPromptRanking.ALL, 10)).containsExactly(new Ranked(1L, 2));
+    }
+
+    @Test
+    void resyncReplacesStateFromLikesTable() {
+        like(9L, IMAGE, 5);
+        when(likesRepository.findWeeklyLikeBuckets(any())).thenReturn(List.of(
+                new Bucket(1L, IMAGE, 0L, 2L),
+                new Bucket(1L, IMAGE, 24L * 7 - 1, 1L),
+                new Bucket(2L, TEXT, 100L, 4L)));
+
+        ranking.resync();
+
+        assertThat(ranking.top(HotPromptRanking.ALL, 10)).containsExactly(
+                new Ranked(2L, 4), new Ranked(1L, 3));
+        assertThat(ranking.top(IMAGE, 10)).containsExactly(new Ranked(1L, 3));
+    }
+
+    @Test
+    void resyncKeepsLikesRecordedWhileQuerying() {
+        when(likesRepository.findWeeklyLikeBuckets(any())).thenAnswer(invocation -> {
+            // 조회가 도는 동안 다른 요청의 토글이 커밋됨 (조회 결과에는 없음)
+            like(5L, TEXT, 2);
+            return List.of(new Bucket(1L, IMAGE, 0L, 1L));
+        });
+
+        ranking.resync();
+
+        assertThat(ranking.top(HotPromptRanking.ALL, 10)).containsExactly(
+                new Ranked(5L, 2), new Ranked(1L, 1));
+
+        // 조회가 끝난 뒤의 토글은 기록되지 않고 바로 반영
+        when(likesRepository.findWeeklyLikeBuckets(any())).thenReturn(List.of());
+        ranking.resync();
+        like(5L, TEXT, 1);
+        assertThat(ranking.top(TEXT, 10)).containsExactly(new Ranked(5L, 1));
+    }
+
+    private void like(Long promptId, String category, int times) {
+        for (int i = 0; i < times; i++) {
+            ranking.recordAfterCommit(promptId, category, true, now, 1);
+        }
+    }
+
+    private record Bucket(Long promptId, String category, Long hourOffset, Long likes) implements WeeklyLikeBucket {
+
+        @Override
+        public Long getPromptId() {
+            return promptId;
+        }
+
+        @Override
+        public String getCategory() {
+            return category;
+        }
+
+        @Override
+        public Long getHourOffset() {
+            return hourOffset;
+        }
+
+        @Override
+        public Long getLikes() {
+            return likes;
+        }
+    }
+}
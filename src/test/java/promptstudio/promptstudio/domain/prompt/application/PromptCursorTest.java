@@ -0,0 +1,81 @@
+package promptstudio.promptstudio.domain.prompt.application;
+
+import org.junit.jupiter.api.Test;
+import promptstudio.promptstudio.domain.prompt.dto.PromptCardNewsResponse;
+import promptstudio.promptstudio.global.exception.http.BadRequestException;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PromptCursorTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 11, 3, 12, 30, 15, 123_456_000);
+
+    @Test
+    void encodeDecodeRoundTrip() {
+        PromptCursor cursor = new PromptCursor(42, NOW, 1001);
+
+        assertThat(PromptCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void roundTripKeepsWholeMinuteTime() {
+        // LocalDateTime.toString()은 초가 0이면 초를 생략한다
+        PromptCursor cursor = new PromptCursor(0, LocalDateTime.of(2025, 11, 3, 12, 30), 7);
+
+        assertThat(PromptCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void blankCursorMeansFirstPage() {
+        assertThat(PromptCursor.decode(null)).isEqualTo(PromptCursor.FIRST);
+        assertThat(PromptCursor.decode(" ")).isEqualTo(PromptCursor.FIRST);
+    }
+
+    @Test
+    void malformedCursorIsBadRequest() {
+        assertThatThrownBy(() -> PromptCursor.decode("not-a-cursor"))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> PromptCursor.decode("@@@"))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void firstAcceptsEveryCard() {
+        assertThat(PromptCursor.FIRST.acceptsByLikeCount(card(5L, 1_000_000, NOW))).isTrue();
+        assertThat(PromptCursor.FIRST.acceptsByCreatedAt(card(5L, 0, NOW))).isTrue();
+    }
+
+    @Test
+    void byLikeCountBreaksTiesByCreatedAtThenId() {
+        PromptCursor cursor = PromptCursor.byLikeCount(card(10L, 3, NOW));
+
+        assertThat(cursor.acceptsByLikeCount(card(11L, 2, NOW.plusDays(1)))).isTrue();
+        assertThat(cursor.acceptsByLikeCount(card(9L, 4, NOW.minusDays(1)))).isFalse();
+
+        assertThat(cursor.acceptsByLikeCount(card(11L, 3, NOW.minusSeconds(1)))).isTrue();
+        assertThat(cursor.acceptsByLikeCount(card(9L, 3, NOW.plusSeconds(1)))).isFalse();
+
+        assertThat(cursor.acceptsByLikeCount(card(9L, 3, NOW))).isTrue();
+        assertThat(cursor.acceptsByLikeCount(card(10L, 3, NOW))).isFalse();
+        assertThat(cursor.acceptsByLikeCount(card(11L, 3, NOW))).isFalse();
+    }
+
+    @Test
+    void byCreatedAtBreaksTiesById() {
+        PromptCursor cursor = PromptCursor.byCreatedAt(card(10L, 3, NOW));
+
+        assertThat(cursor.acceptsByCreatedAt(card(99L, 100, NOW.minusNanos(1_000)))).isTrue();
+        assertThat(cursor.acceptsByCreatedAt(card(1L, 0, NOW.plusNanos(1_000)))).isFalse();
+
+        assertThat(cursor.acceptsByCreatedAt(card(9L, 0, NOW))).isTrue();
+        assertThat(cursor.acceptsByCreatedAt(card(10L, 0, NOW))).isFalse();
+    }
+
+    private PromptCardNewsResponse card(Long promptId, long likeCount, LocalDateTime createdAt) {
+        return new PromptCardNewsResponse(promptId, 1L, "전체", "gpt", "title", "intro", null,
+                false, likeCount, createdAt);
+    }
+}
@@ -0,0 +1,46 @@
+package promptstudio.promptstudio.domain.prompt.application;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PromptHybridSearchTest {
+
+    private static final int K = 60;
+
+    @Test
+    void keepsSingleLegOrder() {
+        assertThat(PromptHybridSearch.fuse(List.of(3L, 1L, 2L), List.of(), K))
+                .containsExactly(3L, 1L, 2L);
+        assertThat(PromptHybridSearch.fuse(List.of(), List.of(5L, 4L), K))
+                .containsExactly(5L, 4L);
+    }
+
+    @Test
+    void boostsIdsFoundByBothLegs() {
+        // 7은 양쪽 모두 2위지만 점수가 합산돼 각 1위보다 앞선다
+        List<Long> fused = PromptHybridSearch.fuse(List.of(1L, 7L, 2L), List.of(3L, 7L, 4L), K);
+
+        assertThat(fused.get(0)).isEqualTo(7L);
+        assertThat(fused).containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 7L);
+    }
+
+    @Test
+    void keepsFirstAppearanceOnTies() {
+        // 같은 순위끼리는 점수가 같으므로 lexical 쪽이 먼저
+        assertThat(PromptHybridSearch.fuse(List.of(1L, 2L), List.of(3L, 4L), K))
+                .containsExactly(1L, 3L, 2L, 4L);
+    }
+
+    @Test
+    void isDeterministicWithoutDuplicates() {
+        List<Long> lexical = List.of(10L, 11L, 12L, 13L);
+        List<Long> vector = List.of(12L, 14L, 10L);
+
+        assertThat(PromptHybridSearch.fuse(lexical, vector, K))
+                .isEqualTo(PromptHybridSearch.fuse(lexical, vector, K))
+                .doesNotHaveDuplicates();
+    }
+}
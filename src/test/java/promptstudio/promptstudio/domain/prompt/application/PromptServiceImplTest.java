@@ -0,0 +1,57 @@
+package promptstudio.promptstudio.domain.prompt.application;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import promptstudio.promptstudio.domain.likes.application.LikeCountBuffer;
+import promptstudio.promptstudio.domain.likes.domain.repository.LikesRepository;
+import promptstudio.promptstudio.domain.member.domain.entity.Member;
+import promptstudio.promptstudio.domain.member.domain.repository.MemberRepository;
+import promptstudio.promptstudio.domain.prompt.domain.entity.Prompt;
+import promptstudio.promptstudio.domain.prompt.domain.repository.PromptRepository;
+import promptstudio.promptstudio.domain.prompt.dto.PromptResponse;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PromptServiceImplTest {
+
+    private static final Long PROMPT_ID = 7L;
+
+    @Mock
+    private PromptRepository promptRepository;
+    @Mock
+    private MemberRepository memberRepository;
+    @Mock
+    private LikesRepository likesRepository;
+    @Mock
+    private LikeCountBuffer likeCountBuffer;
+    @Mock
+    private PromptViewBuffer promptViewBuffer;
+
+    @InjectMocks
+    private PromptServiceImpl promptService;
+
+    @Test
+    void detailOverlaysUnflushedLikesAndViews() {
+        Prompt prompt = mock(Prompt.class);
+        when(prompt.getMember()).thenReturn(mock(Member.class));
+        when(prompt.getLikeCount()).thenReturn(10L);
+        when(prompt.getViewCount()).thenReturn(100);
+        when(promptRepository.findById(PROMPT_ID)).thenReturn(Optional.of(prompt));
+        when(likeCountBuffer.pending(PROMPT_ID)).thenReturn(3L);
+        when(promptViewBuffer.pendingViews(PROMPT_ID)).thenReturn(5L);
+
+        PromptResponse response = promptService.getPromptDetail(null, PROMPT_ID);
+
+        assertThat(response.getLikeCount()).isEqualTo(13);
+        assertThat(response.getViewCount()).isEqualTo(105);
+        assertThat(response.isLiked()).isFalse();
+    }
+}
@@ -0,0 +1,138 @@
+package promptstudio.promptstudio.domain.prompt.application;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class PromptViewBufferTest {
+
+    private static final String UPDATE_VIEWS = "UPDATE prompt";
+    private static final String INSERT_TOUCHES = "INSERT INTO view_record";
+
+    private JdbcTemplate jdbcTemplate;
+    private PromptViewBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        buffer = new PromptViewBuffer(jdbcTemplate, new SimpleMeterRegistry(), 2);
+    }
+
+    @Test
+    void flushWritesAccumulatedViewsOnce() {
+        buffer.record(null, 7L);
+        buffer.record(null, 7L);
+        buffer.record(null, 7L);
+        assertThat(buffer.pendingViews(7L)).isEqualTo(3);
+
+        buffer.flush();
+
+        // UPDATE ... CASE id WHEN 7 THEN 3 ... WHERE id IN (7)
+        verify(jdbcTemplate).update(startsWith(UPDATE_VIEWS), eq(7L), eq(3L), eq(7L));
+        verify(jdbcTemplate, never()).update(startsWith(INSERT_TOUCHES), any(Object[].class));
+        assertThat(buffer.pendingViews(7L)).isZero();
+    }
+
+    @Test
+    void flushWithoutRecordsDoesNothing() {
+        buffer.flush();
+
+        verify(jdbcTemplate, never()).update(any(String.class), any(Object[].class));
+    }
+
+    @Test
+    void flushSplitsViewsIntoBatches() {
+        buffer.record(null, 1L);
+        buffer.record(null, 2L);
+        buffer.record(null, 3L);
+
+        buffer.flush();
+
+        // batch-size 2 → 2건 + 1건
+        verify(jdbcTemplate).update(startsWith(UPDATE_VIEWS), any(), any(), any(), any(), any(), any());
+        verify(jdbcTemplate).update(startsWith(UPDATE_VIEWS), any(), any(), any());
+    }
+
+    @Test
+    void failedViewFlushIsMergedBackAndRetried() {
+        buffer.record(null, 7L);
+        buffer.record(null, 7L);
+        doThrow(new DataAccessResourceFailureException("down"))
+                .when(jdbcTemplate).update(startsWith(UPDATE_VIEWS), any(Object[].class));
+
+        buffer.flush();
+
+        assertThat(buffer.pendingViews(7L)).isEqualTo(2);
+
+        // 실패 후 들어온 조회수와 합쳐서 다음 주기에 한 번에 반영
+        buffer.record(null, 7L);
+        doReturn(1).when(jdbcTemplate).update(startsWith(UPDATE_VIEWS), any(Object[].class));
+
+        buffer.flush();
+
+        verify(jdbcTemplate).update(startsWith(UPDATE_VIEWS), eq(7L), eq(3L), eq(7L));
+        assertThat(buffer.pendingViews(7L)).isZero();
+    }
+
+    @Test
+    void onlyFailedChunkIsMergedBack() {
+        buffer.record(null, 1L);
+        buffer.record(null, 2L);
+        buffer.record(null, 3L);
+        buffer.record(null, 3L);
+        // 두 번째 청크(3번 1건)만 실패
+        doThrow(new DataAccessResourceFailureException("down"))
+                .when(jdbcTemplate).update(startsWith(UPDATE_VIEWS), any(), any(), any());
+
+        buffer.flush();
+
+        assertThat(buffer.pendingViews(1L)).isZero();
+        assertThat(buffer.pendingViews(2L)).isZero();
+        assertThat(buffer.pendingViews(3L)).isEqualTo(2);
+
+        doReturn(1).when(jdbcTemplate).update(startsWith(UPDATE_VIEWS), any(), any(), any());
+        clearInvocations(jdbcTemplate);
+
+        buffer.flush();
+
+        // 이미 커밋된 첫 청크는 다시 보내지 않는다
+        verify(jdbcTemplate).update(startsWith(UPDATE_VIEWS), eq(3L), eq(2L), eq(3L));
+        verify(jdbcTemplate, never()).update(startsWith(UPDATE_VIEWS), any(), any(), any(), any(), any(), any());
+        assertThat(buffer.pendingViews(3L)).isZero();
+    }
+
+    @Test
+    void failedTouchBatchFallsBackToSingleRows() {
+        buffer.record(1L, 7L);
+        buffer.record(2L, 7L);
+        doThrow(new DataAccessResourceFailureException("fk"))
+                .when(jdbcTemplate).update(startsWith(INSERT_TOUCHES), any(Object[].class));
+
+        assertThatCode(buffer::flush).doesNotThrowAnyException();
+
+        // 일괄 1번 + 건별 2번, 실패한 건은 버린다
+        verify(jdbcTemplate).update(startsWith(INSERT_TOUCHES),
+                any(), any(), any(), any(), any(), any(), any(), any());
+        verify(jdbcTemplate, times(2)).update(startsWith(INSERT_TOUCHES), any(), any(), any(), any());
+
+        // 실패한 건은 버퍼로 돌아오지 않는다
+        clearInvocations(jdbcTemplate);
+        buffer.flush();
+        verify(jdbcTemplate, never()).update(startsWith(INSERT_TOUCHES), any(Object[].class));
+    }
+}
@@ -0,0 +1,90 @@
+package promptstudio.promptstudio.global.s3.domain.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import promptstudio.promptstudio.global.s3.domain.entity.StoredObject;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 참조 카운트 / 유예 시간 조건은 쿼리에 있으므로 내장 DB로 확인 (prod 프로필의 MySQL 설정은 쓰지 않음)
+@DataJpaTest
+@ActiveProfiles("test")
+class StoredObjectRepositoryTest {
+
+    private static final String KEY = "cas/" + "a".repeat(64) + ".png";
+
+    @Autowired
+    private StoredObjectRepository storedObjectRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void incrementRefOnMissingRowUpdatesNothing() {
+        assertThat(storedObjectRepository.incrementRef(KEY)).isZero();
+        assertThat(storedObjectRepository.findById(KEY)).isEmpty();
+    }
+
+    @Test
+    void decrementRefNeverGoesBelowZero() {
+        save(KEY, 1);
+
+        assertThat(storedObjectRepository.decrementRef(KEY)).isEqualTo(1);
+        assertThat(storedObjectRepository.decrementRef(KEY)).isZero();
+
+        assertThat(refCount(KEY)).isZero();
+    }
+
+    @Test
+    void sweepQueriesSkipRowsTouchedInsideGraceWindow() {
+        save(KEY, 0);
+        // 방금 갱신된 행: 유예 기준 시각(1시간 전)보다 새로움
+        LocalDateTime before = LocalDateTime.now().minusHours(1);
+
+        assertThat(storedObjectRepository.findUnreferencedKeys(before, PageRequest.of(0, 10))).isEmpty();
+        assertThat(storedObjectRepository.deleteIfUnreferenced(KEY, before)).isZero();
+        assertThat(storedObjectRepository.findById(KEY)).isPresent();
+    }
+
+    @Test
+    void sweepQueriesDeleteOnlyUnreferencedRowsPastGraceWindow() {
+        String referenced = "cas/" + "b".repeat(64) + ".png";
+        save(KEY, 0);
+        save(referenced, 1);
+        LocalDateTime before = LocalDateTime.now().plusMinutes(1);
+
+        assertThat(storedObjectRepository.findUnreferencedKeys(before, PageRequest.of(0, 10))).containsExactly(KEY);
+        assertThat(storedObjectRepository.deleteIfUnreferenced(referenced, before)).isZero();
+        assertThat(storedObjectRepository.deleteIfUnreferenced(KEY, before)).isEqualTo(1);
+
+        entityManager.clear();
+        assertThat(storedObjectRepository.findById(KEY)).isEmpty();
+        assertThat(storedObjectRepository.findById(referenced)).isPresent();
+    }
+
+    @Test
+    void existsByContentPrefixIgnoresExtension() {
+        save(KEY, 0);
+
+        assertThat(storedObjectRepository.existsByObjectKeyStartingWith("cas/" + "a".repeat(64))).isTrue();
+        assertThat(storedObjectRepository.existsByObjectKeyStartingWith("cas/" + "c".repeat(64))).isFalse();
+    }
+
+    private void save(String key, long refCount) {
+        entityManager.persistAndFlush(StoredObject.builder()
+                .objectKey(key)
+                .refCount(refCount)
+                .build());
+    }
+
+    private long refCount(String key) {
+        entityManager.clear();
+        return storedObjectRepository.findById(key).orElseThrow().getRefCount();
+    }
+}
@@ -0,0 +1,109 @@
+package promptstudio.promptstudio.global.s3.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+import promptstudio.promptstudio.global.s3.domain.repository.StoredObjectRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ContentAddressedStorageTest {
+
+    private static final String KEY = "cas/" + "a".repeat(64) + ".png";
+    private static final String URL = "https://bucket.s3.amazonaws.com/" + KEY;
+    private static final String LEGACY_URL = "https://bucket.s3.amazonaws.com/history/old.png";
+
+    private S3StorageService s3StorageService;
+    private StoredObjectRepository storedObjectRepository;
+    private S3DeletionQueue s3DeletionQueue;
+    private ContentAddressedStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        s3StorageService = mock(S3StorageService.class);
+        storedObjectRepository = mock(StoredObjectRepository.class);
+        s3DeletionQueue = mock(S3DeletionQueue.class);
+        storage = new ContentAddressedStorage(s3StorageService, storedObjectRepository, s3DeletionQueue);
+        ReflectionTestUtils.setField(storage, "orphanGraceHours", 24L);
+
+        when(s3StorageService.extractBucketKey(URL)).thenReturn(KEY);
+        when(s3StorageService.extractBucketKey(LEGACY_URL)).thenReturn("history/old.png");
+    }
+
+    @Test
+    void retainOnMissingRowIsBadRequest() {
+        when(storedObjectRepository.incrementRef(KEY)).thenReturn(0);
+
+        assertThatThrownBy(() -> storage.retain(URL))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    @Test
+    void retainKeepsContentUrlAndCopiesLegacyUrl() {
+        when(storedObjectRepository.incrementRef(KEY)).thenReturn(1);
+        when(s3StorageService.copyImage(LEGACY_URL)).thenReturn("https://bucket.s3.amazonaws.com/history/copy.png");
+
+        assertThat(storage.retain(URL)).isEqualTo(URL);
+        assertThat(storage.retain(LEGACY_URL)).isEqualTo("https://bucket.s3.amazonaws.com/history/copy.png");
+        verify(storedObjectRepository, never()).incrementRef("history/old.png");
+    }
+
+    @Test
+    void releaseDecrementsContentAndQueuesLegacyDeletion() {
+        storage.release(URL);
+        storage.release(LEGACY_URL);
+        storage.release(" ");
+
+        verify(storedObjectRepository).decrementRef(KEY);
+        verify(s3DeletionQueue).enqueue(LEGACY_URL);
+        verify(s3DeletionQueue, never()).enqueue(" ");
+    }
+
+    @Test
+    void putAlwaysUploadsAndRefreshesRow() {
+        byte[] bytes = "image".getBytes();
+        when(s3StorageService.urlOf(any())).thenAnswer(invocation -> "https://bucket/" + invocation.getArgument(0));
+
+        String url = storage.put(() -> new ByteArrayInputStream(bytes), bytes.length, "png", "image/png");
+
+        // 행이 이미 있어도 업로드를 건너뛰지 않는다
+        verify(s3StorageService).uploadStream(any(InputStream.class), eq((long) bytes.length),
+                startsWith("cas/"), eq("image/png"), any());
+        verify(storedObjectRepository).upsert(argThat(key -> key.matches("cas/[0-9a-f]{64}\\.png")));
+        assertThat(url).matches("https://bucket/cas/[0-9a-f]{64}\\.png");
+    }
+
+    @Test
+    void sweepQueuesOnlyRowsItActuallyDeleted() {
+        String touched = "cas/" + "b".repeat(64) + ".png";
+        when(storedObjectRepository.findUnreferencedKeys(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(KEY, touched));
+        when(storedObjectRepository.deleteIfUnreferenced(eq(KEY), any())).thenReturn(1);
+        // 조회와 삭제 사이에 다시 참조/갱신된 행
+        when(storedObjectRepository.deleteIfUnreferenced(eq(touched), any())).thenReturn(0);
+
+        storage.sweep();
+
+        verify(s3DeletionQueue).enqueueKeys(List.of(KEY));
+        verify(storedObjectRepository).findUnreferencedKeys(
+                argThat(before -> before.isBefore(LocalDateTime.now().minusHours(23))), any(Pageable.class));
+    }
+}
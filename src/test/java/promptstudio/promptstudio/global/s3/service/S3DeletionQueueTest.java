@@ -0,0 +1,140 @@
+package promptstudio.promptstudio.global.s3.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import promptstudio.promptstudio.global.s3.domain.entity.S3DeletionTask;
+import promptstudio.promptstudio.global.s3.domain.repository.S3DeletionTaskRepository;
+import promptstudio.promptstudio.global.s3.domain.repository.StoredObjectRepository;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.S3Error;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("unchecked")
+class S3DeletionQueueTest {
+
+    private static final String SHA = "a".repeat(64);
+    private static final String OTHER_SHA = "b".repeat(64);
+
+    private S3DeletionTaskRepository s3DeletionTaskRepository;
+    private StoredObjectRepository storedObjectRepository;
+    private S3Client s3Client;
+    private S3DeletionQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        s3DeletionTaskRepository = mock(S3DeletionTaskRepository.class);
+        storedObjectRepository = mock(StoredObjectRepository.class);
+        s3Client = mock(S3Client.class);
+        queue = new S3DeletionQueue(s3DeletionTaskRepository, storedObjectRepository, mock(S3StorageService.class), s3Client);
+        ReflectionTestUtils.setField(queue, "bucket", "bucket");
+        ReflectionTestUtils.setField(queue, "maxAttempts", 8);
+    }
+
+    @Test
+    void dropsTasksWhoseContentWasUploadedAgain() {
+        givenDue(
+                task(1L, "cas/" + SHA + ".png", 0),
+                task(2L, "cas/" + SHA + "_w320.jpg", 0),
+                task(3L, "cas/" + OTHER_SHA + ".png", 0),
+                task(4L, "history/old.png", 0));
+        when(storedObjectRepository.existsByObjectKeyStartingWith("cas/" + SHA)).thenReturn(true);
+        when(storedObjectRepository.existsByObjectKeyStartingWith("cas/" + OTHER_SHA)).thenReturn(false);
+        givenDeleteResponse(DeleteObjectsResponse.builder().build());
+
+        queue.drain();
+
+        // 원본과 파생 썸네일은 같은 내용이므로 한 번만 확인
+        verify(storedObjectRepository, times(1)).existsByObjectKeyStartingWith("cas/" + SHA);
+        verify(s3DeletionTaskRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        assertThat(deletedKeys()).containsExactly("cas/" + OTHER_SHA + ".png", "history/old.png");
+        verify(s3DeletionTaskRepository).deleteAllByIdInBatch(List.of(3L, 4L));
+    }
+
+    @Test
+    void failedKeysArePostponedWithBackoff() {
+        givenDue(
+                task(1L, "history/a.png", 0),
+                task(2L, "history/b.png", 3));
+        givenDeleteResponse(DeleteObjectsResponse.builder()
+                .errors(S3Error.builder().key("history/b.png").code("AccessDenied").build())
+                .build());
+
+        queue.drain();
+
+        verify(s3DeletionTaskRepository).deleteAllByIdInBatch(List.of(1L));
+        // 시도 3회 → 80초 뒤
+        verify(s3DeletionTaskRepository).postpone(eq(List.of(2L)), argThat(next -> isAround(next, 80)));
+    }
+
+    @Test
+    void failedRequestPostponesWholeBatch() {
+        givenDue(
+                task(1L, "history/a.png", 0),
+                task(2L, "history/b.png", 0));
+        when(s3Client.deleteObjects(any(Consumer.class))).thenThrow(new RuntimeException("S3 down"));
+
+        queue.drain();
+
+        verify(s3DeletionTaskRepository).deleteAllByIdInBatch(List.of());
+        verify(s3DeletionTaskRepository).postpone(eq(List.of(1L, 2L)), argThat(next -> isAround(next, 10)));
+    }
+
+    @Test
+    void skipsS3CallWhenEveryTaskWasRevived() {
+        givenDue(task(1L, "cas/" + SHA + ".png", 0));
+        when(storedObjectRepository.existsByObjectKeyStartingWith("cas/" + SHA)).thenReturn(true);
+
+        queue.drain();
+
+        verify(s3DeletionTaskRepository).deleteAllByIdInBatch(List.of(1L));
+        verify(s3Client, never()).deleteObjects(any(Consumer.class));
+    }
+
+    private void givenDue(S3DeletionTask... tasks) {
+        when(s3DeletionTaskRepository.findDue(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(tasks));
+    }
+
+    private void givenDeleteResponse(DeleteObjectsResponse response) {
+        when(s3Client.deleteObjects(any(Consumer.class))).thenReturn(response);
+    }
+
+    private List<String> deletedKeys() {
+        ArgumentCaptor<Consumer<DeleteObjectsRequest.Builder>> captor = ArgumentCaptor.forClass(Consumer.class);
+        verify(s3Client).deleteObjects(captor.capture());
+        DeleteObjectsRequest.Builder builder = DeleteObjectsRequest.builder();
+        captor.getValue().accept(builder);
+        return builder.build().delete().objects().stream().map(ObjectIdentifier::key).toList();
+    }
+
+    private S3DeletionTask task(Long id, String key, int attempts) {
+        S3DeletionTask task = S3DeletionTask.builder().objectKey(key).build();
+        ReflectionTestUtils.setField(task, "id", id);
+        ReflectionTestUtils.setField(task, "attempts", attempts);
+        return task;
+    }
+
+    private boolean isAround(LocalDateTime next, long seconds) {
+        LocalDateTime expected = LocalDateTime.now().plusSeconds(seconds);
+        return !next.isBefore(expected.minusSeconds(5)) && !next.isAfter(expected.plusSeconds(5));
+    }
+}